@@ -0,0 +1,20 @@
+package com.reactor.reactor.batches;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private int index; // Posición del elemento en la lista recibida
+    private String id; // Id del documento (generado en los insert sin id)
+    private BatchStatus status;
+    private String error; // Mensaje de error de Mongo cuando status = FAILED
+
+}
@@ -0,0 +1,45 @@
+package com.reactor.reactor.batches;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Resumen de una operación masiva (bulkWrite): contadores que entrega Mongo y
+ * el resultado de cada elemento.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResult {
+
+    private boolean ordered; // true: se detiene en el primer error
+    private long inserted;
+    private long matched;
+    private long modified;
+    private long deleted;
+    private List<BatchItemResult> items = new ArrayList<>();
+
+    @JsonProperty
+    public long failed() {
+        return items.stream().filter(item -> item.getStatus() != BatchStatus.OK).count();
+    }
+
+    // Combina el resultado de 2 chunks en uno solo
+    public BatchResult merge(BatchResult other) {
+        List<BatchItemResult> merged = new ArrayList<>(items);
+        merged.addAll(other.getItems());
+        return new BatchResult(ordered,
+                inserted + other.getInserted(),
+                matched + other.getMatched(),
+                modified + other.getModified(),
+                deleted + other.getDeleted(),
+                merged);
+    }
+
+}
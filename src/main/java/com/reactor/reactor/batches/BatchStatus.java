@@ -0,0 +1,14 @@
+package com.reactor.reactor.batches;
+
+/*
+ * Resultado de cada elemento dentro de una operación masiva.
+ */
+public enum BatchStatus {
+
+    OK, // La operación del elemento se ejecutó sin errores
+    FAILED, // Mongo rechazó la operación del elemento (ej: clave duplicada)
+    NOT_FOUND, // Update/delete de un id que no existe
+    CONFLICT, // Update con una @Version que ya no es la actual
+    SKIPPED // No se ejecutó porque un elemento anterior falló en modo ordenado
+
+}
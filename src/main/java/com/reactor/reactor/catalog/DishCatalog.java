@@ -0,0 +1,204 @@
+package com.reactor.reactor.catalog;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.repositories.IDishRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Catálogo de platos en memoria. La colección es pequeña, se lee en cada listado,
+ * búsqueda por id e hidratación de facturas, y se escribe muy poco.
+ * - Snapshot inmutable (mapa por id + lista ordenada por id) que se reemplaza completo
+ * (copy-on-write) en cada escritura; las lecturas no toman locks ni consultan Mongo
+ * - Se carga al iniciar; mientras no esté cargado (o con enabled=false) las lecturas
+ * van a Mongo
+ * - Las escrituras de DishServiceImpl se aplican al momento; las hechas fuera de la
+ * aplicación llegan por el change stream de "dishes" (replica set) o con el refresco
+ * cada refresh-interval
+ * Los platos del snapshot son compartidos: no se deben modificar.
+ * Métricas: dishes.catalog.refreshes, dishes.catalog.size
+ */
+@Component
+public class DishCatalog implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DishCatalog.class);
+
+    private final IDishRepo repo;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+
+    // null mientras no se haya cargado
+    private volatile Snapshot snapshot;
+
+    // Escrituras aplicadas; una recarga iniciada antes de una escritura se descarta
+    private long writes;
+
+    // Cantidad de snapshots publicados; es la versión del snapshot actual
+    private long swaps;
+
+    private final Counter refreshes;
+
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public DishCatalog(IDishRepo repo, ReactiveMongoTemplate mongoTemplate,
+            @Value("${app.dishes.catalog.enabled:true}") boolean enabled,
+            @Value("${app.dishes.catalog.refresh-interval:PT5M}") Duration refreshInterval,
+            MeterRegistry meterRegistry) {
+        this.repo = repo;
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+
+        this.refreshes = Counter.builder("dishes.catalog.refreshes").register(meterRegistry);
+        Gauge.builder("dishes.catalog.size", this, catalog -> {
+            Snapshot current = catalog.snapshot;
+            return current == null ? 0 : current.list().size();
+        }).register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+
+        subscriptions.add(refresh().subscribe());
+
+        // Varios cambios seguidos se resuelven con una sola recarga
+        subscriptions.add(mongoTemplate.changeStream(mongoTemplate.getCollectionName(Dish.class),
+                ChangeStreamOptions.empty(), Document.class)
+                .onBackpressureLatest()
+                .concatMap(event -> refresh(), 1)
+                .subscribe(null, e -> log.info("Dish change stream not available ({}), refreshing every {}",
+                        e.getMessage(), refreshInterval)));
+
+        subscriptions.add(Flux.interval(refreshInterval, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh())
+                .subscribe());
+    }
+
+    @Override
+    public void destroy() {
+        subscriptions.dispose();
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    // Cambia cada vez que se reemplaza el snapshot; -1 mientras no esté cargado
+    public long version() {
+        Snapshot current = snapshot;
+        return current == null ? -1 : current.version();
+    }
+
+    public Flux<Dish> findAll() {
+        Snapshot current = snapshot;
+        return current == null ? repo.findAll() : Flux.fromIterable(current.list());
+    }
+
+    public Mono<Dish> findById(String id) {
+        Snapshot current = snapshot;
+        return current == null ? repo.findById(id) : Mono.justOrEmpty(current.byId().get(id));
+    }
+
+    // Solo los platos que existen, sin repetir
+    public Flux<Dish> findAllById(Collection<String> ids) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return repo.findAllById(ids);
+        }
+        return Flux.fromStream(ids.stream().distinct().map(current.byId()::get).filter(Objects::nonNull));
+    }
+
+    // Plato guardado o actualizado por la aplicación
+    public void put(Dish dish) {
+        // Copia: el objeto recibido sigue siendo del que llamó
+        Dish copy = new Dish(dish.getId(), dish.getName(), dish.getPrice(), dish.getStatus(), dish.getVersion());
+        synchronized (this) {
+            writes++;
+            if (snapshot != null) {
+                List<Dish> dishes = new ArrayList<>(snapshot.list().size() + 1);
+                snapshot.list().stream().filter(e -> !e.getId().equals(copy.getId())).forEach(dishes::add);
+                dishes.add(copy);
+                snapshot = Snapshot.of(dishes, ++swaps);
+            }
+        }
+    }
+
+    public void remove(String id) {
+        synchronized (this) {
+            writes++;
+            if (snapshot != null && snapshot.byId().containsKey(id)) {
+                snapshot = Snapshot.of(snapshot.list().stream().filter(e -> !e.getId().equals(id)).toList(), ++swaps);
+            }
+        }
+    }
+
+    // Recarga toda la colección y reemplaza el snapshot
+    public Mono<Void> refresh() {
+        return Mono.defer(() -> {
+            long startedAt;
+            synchronized (this) {
+                startedAt = writes;
+            }
+            return repo.findAll(Sort.by("id"))
+                    .collectList()
+                    .flatMap(loaded -> {
+                        synchronized (this) {
+                            if (writes == startedAt) {
+                                snapshot = Snapshot.of(loaded, ++swaps);
+                                refreshes.increment();
+                                return Mono.<Void>empty();
+                            }
+                        }
+                        // Hubo una escritura durante la carga: el resultado puede no incluirla
+                        return refresh();
+                    });
+        })
+                .onErrorResume(e -> {
+                    log.warn("Could not refresh dish catalog: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private record Snapshot(Map<String, Dish> byId, List<Dish> list, long version) {
+
+        static Snapshot of(Collection<Dish> dishes, long version) {
+            List<Dish> sorted = dishes.stream().sorted(Comparator.comparing(Dish::getId)).toList();
+            return new Snapshot(sorted.stream().collect(Collectors.toUnmodifiableMap(Dish::getId, Function.identity())),
+                    sorted, version);
+        }
+
+    }
+
+}
@@ -1,15 +1,28 @@
 package com.reactor.reactor.configs;
 
+import java.util.List;
+
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+import com.reactor.reactor.converters.ClientConverter;
+import com.reactor.reactor.converters.DishConverter;
+import com.reactor.reactor.converters.EntityDocumentConversions;
+import com.reactor.reactor.converters.InvoiceConverter;
+import com.reactor.reactor.repositories.impl.GenericRepoImpl;
 
 import lombok.RequiredArgsConstructor;
 
 @Configuration
 @RequiredArgsConstructor
+// Todos los repositorios usan GenericRepoImpl como implementación base (operaciones de IGenericRepo)
+@EnableReactiveMongoRepositories(basePackages = "com.reactor.reactor.repositories", repositoryBaseClass = GenericRepoImpl.class)
 public class MongoConfig implements InitializingBean {
 
     @Lazy
@@ -20,4 +33,17 @@ public class MongoConfig implements InitializingBean {
         converter.setTypeMapper(new DefaultMongoTypeMapper(null));
     }
 
+    // Converters escritos a mano para los documentos más leídos; reemplazan el mapeo
+    // reflexivo de MappingMongoConverter para estos tipos (mismo formato en Mongo).
+    // Estático para evitar el ciclo: esta clase recibe el converter y el converter
+    // necesita estas conversiones
+    @Bean
+    public static MongoCustomConversions mongoCustomConversions() {
+        return new EntityDocumentConversions(List.of(
+                DishConverter.Reading.INSTANCE, DishConverter.Writing.INSTANCE,
+                ClientConverter.Reading.INSTANCE, ClientConverter.Writing.INSTANCE,
+                InvoiceConverter.Reading.INSTANCE, InvoiceConverter.Writing.INSTANCE,
+                InvoiceConverter.DetailReading.INSTANCE, InvoiceConverter.DetailWriting.INSTANCE));
+    }
+
 }
@@ -3,13 +3,12 @@ package com.reactor.reactor.controllers;
 import java.io.File;
 import java.net.URI;
 import java.nio.file.Files;
+import java.util.List;
 import java.util.Map;
 
 import org.cloudinary.json.JSONObject;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -25,12 +24,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.reactor.reactor.batches.BatchResult;
 import com.reactor.reactor.dtos.ClientDTO;
+import com.reactor.reactor.mappers.ClientDtoMapper;
 import com.reactor.reactor.models.Client;
+import com.reactor.reactor.paginations.CursorPage;
 import com.reactor.reactor.paginations.PageSupport;
+import com.reactor.reactor.responses.ConditionalResponses;
+import com.reactor.reactor.responses.ListResponses;
 import com.reactor.reactor.services.IClientService;
 
 import jakarta.validation.Valid;
@@ -49,15 +54,16 @@ public class ClientController {
 
     private final Cloudinary cloudinary;
 
-    @Qualifier("clientMapper")
-    private final ModelMapper modelMapper;
+    private final ClientDtoMapper mapper;
+
+    private final ConditionalResponses conditional;
 
     private ClientDTO convertToDto(Client model) {
-        return modelMapper.map(model, ClientDTO.class);
+        return mapper.toDto(model);
     }
 
     private Client convertToDocument(ClientDTO dto) {
-        return modelMapper.map(dto, Client.class);
+        return mapper.toDocument(dto);
     }
 
     @GetMapping()
@@ -65,16 +71,8 @@ public class ClientController {
         Flux<ClientDTO> fx = service.findAll().map(e -> convertToDto(e));
         // Flux<ClientDTO> fx = service.findAll().map(this::convertToDto);
 
-        return fx.hasElements()
-                .flatMap(hasElements -> {
-                    if (hasElements) {
-                        return Mono.just(ResponseEntity.ok()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .body(fx));
-                    } else {
-                        return Mono.just(ResponseEntity.notFound().build());
-                    }
-                });
+        // 200 con la lista o 404 si está vacía, con una sola consulta a Mongo
+        return ListResponses.okOrNotFound(fx);
     }
 
     @PostMapping
@@ -89,13 +87,41 @@ public class ClientController {
                         .body(e));
     }
 
+    // Carga masiva: un bulkWrite por cada chunk en vez de un POST por documento
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchResult>> saveAll(@RequestBody List<ClientDTO> dtos,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.saveAll(dtos.stream().map(this::convertToDocument).toList(), ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
+    @PutMapping("/batch")
+    public Mono<ResponseEntity<BatchResult>> updateAll(@RequestBody List<ClientDTO> dtos,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.updateAll(dtos.stream().map(this::convertToDocument).toList(), ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
+    // Recibe la lista de ids a eliminar
+    @PostMapping("/batch/delete")
+    public Mono<ResponseEntity<BatchResult>> deleteAll(@RequestBody List<String> ids,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.deleteAll(ids, ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<ClientDTO>> findById(@PathVariable("id") String id) {
+    public Mono<ResponseEntity<ClientDTO>> findById(@PathVariable("id") String id, ServerWebExchange exchange) {
         return service.findById(id)
                 .map(this::convertToDto)
-                .map(e -> ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(e))
+                // ETag = versión del documento; 304 si el cliente ya la tiene
+                .map(e -> conditional.ok(exchange, "clients", e, e.getVersion()))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
@@ -144,7 +170,8 @@ public class ClientController {
 
                         pageSupport.getPageNumber(), // Número de la página actual
                         pageSupport.getPageSize(), // Tamaño de la página
-                        pageSupport.getTotalElements() // Total de elementos
+                        pageSupport.getTotalElements(), // Total de elementos
+                        pageSupport.isApproximate() // Si el total es aproximado
                 ))
 
                 // Empaquetamos el resultado dentro de un ResponseEntity en formato JSON
@@ -155,6 +182,24 @@ public class ClientController {
 
     }
 
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorPage<ClientDTO>>> getCursorPage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "2") int size) {
+
+        // Sin "cursor" se entrega la primera página; para seguir se envía el "next"
+        // recibido en la respuesta anterior
+        return service.getCursorPage(cursor, size)
+                .map(cursorPage -> new CursorPage<>(
+                        cursorPage.getContent().stream().map(this::convertToDto).toList(),
+                        cursorPage.getPageSize(), // Tamaño de la página
+                        cursorPage.getNext() // Cursor de la siguiente página
+                ))
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
     // Versión simple + detallado
     // MultipartFile: apps no reactivas
     // FilePart: enfoque reactivo
@@ -1,11 +1,11 @@
 package com.reactor.reactor.controllers;
 
 import java.net.URI;
+import java.util.List;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -20,15 +20,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 
+import com.reactor.reactor.batches.BatchResult;
 import com.reactor.reactor.dtos.DishDTO;
+import com.reactor.reactor.mappers.DishDtoMapper;
 import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.paginations.CursorPage;
 import com.reactor.reactor.paginations.PageSupport;
+import com.reactor.reactor.responses.ConditionalResponses;
+import com.reactor.reactor.responses.JsonResponses;
 import com.reactor.reactor.services.IDishService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -40,34 +45,27 @@ public class DishController {
 
     private final IDishService service;
 
-    @Qualifier("defaultMapper")
-    private final ModelMapper modelMapper;
+    private final DishDtoMapper mapper;
+
+    private final ConditionalResponses conditional;
 
     private DishDTO convertToDto(Dish model) {
-        return modelMapper.map(model, DishDTO.class);
+        return mapper.toDto(model);
     }
 
     private Dish convertToDocument(DishDTO dto) {
-        return modelMapper.map(dto, Dish.class);
+        return mapper.toDocument(dto);
     }
 
     // @PreAuthorize("hasAuthority('ADMIN')")
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('USER')")
     @GetMapping()
-    public Mono<ResponseEntity<Flux<DishDTO>>> findAll() {
-        Flux<DishDTO> fx = service.findAll().map(e -> convertToDto(e));
-        // Flux<DishDTO> fx = service.findAll().map(this::convertToDto);
-
-        return fx.hasElements()
-                .flatMap(hasElements -> {
-                    if (hasElements) {
-                        return Mono.just(ResponseEntity.ok()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .body(fx));
-                    } else {
-                        return Mono.just(ResponseEntity.notFound().build());
-                    }
-                });
+    public Mono<ResponseEntity<DataBuffer>> findAll(ServerWebExchange exchange) {
+        // JSON ya serializado (y comprimido) mientras el catálogo no cambie: sin Jackson
+        // por solicitud; 304 si el cliente envía el ETag vigente y 404 si no hay platos
+        return service.findAllJson()
+                .map(json -> JsonResponses.ok(json, exchange))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @PostMapping
@@ -82,13 +80,41 @@ public class DishController {
                         .body(e));
     }
 
+    // Carga masiva: un bulkWrite por cada chunk en vez de un POST por documento
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchResult>> saveAll(@RequestBody List<DishDTO> dtos,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.saveAll(dtos.stream().map(this::convertToDocument).toList(), ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
+    @PutMapping("/batch")
+    public Mono<ResponseEntity<BatchResult>> updateAll(@RequestBody List<DishDTO> dtos,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.updateAll(dtos.stream().map(this::convertToDocument).toList(), ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
+    // Recibe la lista de ids a eliminar
+    @PostMapping("/batch/delete")
+    public Mono<ResponseEntity<BatchResult>> deleteAll(@RequestBody List<String> ids,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.deleteAll(ids, ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<DishDTO>> findById(@PathVariable("id") String id) {
+    public Mono<ResponseEntity<DishDTO>> findById(@PathVariable("id") String id, ServerWebExchange exchange) {
         return service.findById(id)
                 .map(this::convertToDto)
-                .map(e -> ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(e))
+                // ETag = versión del documento; 304 si el cliente ya la tiene
+                .map(e -> conditional.ok(exchange, "dishes", e, e.getVersion()))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
@@ -136,7 +162,8 @@ public class DishController {
 
                         pageSupport.getPageNumber(), // Número de la página actual
                         pageSupport.getPageSize(), // Tamaño de la página
-                        pageSupport.getTotalElements() // Total de elementos
+                        pageSupport.getTotalElements(), // Total de elementos
+                        pageSupport.isApproximate() // Si el total es aproximado
                 ))
 
                 // Empaquetamos el resultado dentro de un ResponseEntity en formato JSON
@@ -147,4 +174,22 @@ public class DishController {
 
     }
 
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorPage<DishDTO>>> getCursorPage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "2") int size) {
+
+        // Sin "cursor" se entrega la primera página; para seguir se envía el "next"
+        // recibido en la respuesta anterior
+        return service.getCursorPage(cursor, size)
+                .map(cursorPage -> new CursorPage<>(
+                        cursorPage.getContent().stream().map(this::convertToDto).toList(),
+                        cursorPage.getPageSize(), // Tamaño de la página
+                        cursorPage.getNext() // Cursor de la siguiente página
+                ))
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
 }
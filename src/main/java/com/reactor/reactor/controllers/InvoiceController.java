@@ -1,14 +1,18 @@
 package com.reactor.reactor.controllers;
 
 import java.net.URI;
+import java.util.List;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -21,10 +25,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 
+import com.reactor.reactor.batches.BatchResult;
 import com.reactor.reactor.dtos.InvoiceDTO;
+import com.reactor.reactor.dtos.InvoiceReportRequestDTO;
+import com.reactor.reactor.dtos.ReportJobRequestDTO;
+import com.reactor.reactor.mappers.InvoiceDtoMapper;
 import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.paginations.CursorPage;
 import com.reactor.reactor.paginations.PageSupport;
+import com.reactor.reactor.responses.ConditionalResponses;
+import com.reactor.reactor.responses.ListResponses;
+import com.reactor.reactor.reports.ReportJob;
+import com.reactor.reactor.reports.ReportJobStatus;
 import com.reactor.reactor.services.IInvoiceService;
 
 import jakarta.validation.Valid;
@@ -44,31 +58,24 @@ public class InvoiceController {
 
     private final IInvoiceService service;
 
-    @Qualifier("defaultMapper")
-    private final ModelMapper modelMapper;
+    private final InvoiceDtoMapper mapper;
+
+    private final ConditionalResponses conditional;
 
     private InvoiceDTO convertToDto(Invoice model) {
-        return modelMapper.map(model, InvoiceDTO.class);
+        return mapper.toDto(model);
     }
 
     private Invoice convertToDocument(InvoiceDTO dto) {
-        return modelMapper.map(dto, Invoice.class);
+        return mapper.toDocument(dto);
     }
 
     @GetMapping
     public Mono<ResponseEntity<Flux<InvoiceDTO>>> findAll() {
         Flux<InvoiceDTO> fx = service.findAll().map(this::convertToDto);
 
-        return fx.hasElements()
-                .flatMap(hasElements -> {
-                    if (hasElements) {
-                        return Mono.just(ResponseEntity.ok()
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .body(fx));
-                    } else {
-                        return Mono.just(ResponseEntity.notFound().build());
-                    }
-                });
+        // 200 con la lista o 404 si está vacía, con una sola consulta a Mongo
+        return ListResponses.okOrNotFound(fx);
     }
 
     @PostMapping
@@ -82,13 +89,41 @@ public class InvoiceController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    // Carga masiva: un bulkWrite por cada chunk en vez de un POST por documento
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchResult>> saveAll(@RequestBody List<InvoiceDTO> dtos,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.saveAll(dtos.stream().map(this::convertToDocument).toList(), ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
+    @PutMapping("/batch")
+    public Mono<ResponseEntity<BatchResult>> updateAll(@RequestBody List<InvoiceDTO> dtos,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.updateAll(dtos.stream().map(this::convertToDocument).toList(), ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
+    // Recibe la lista de ids a eliminar
+    @PostMapping("/batch/delete")
+    public Mono<ResponseEntity<BatchResult>> deleteAll(@RequestBody List<String> ids,
+            @RequestParam(name = "ordered", defaultValue = "true") boolean ordered) {
+        return service.deleteAll(ids, ordered)
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<InvoiceDTO>> findById(@PathVariable("id") String id) {
+    public Mono<ResponseEntity<InvoiceDTO>> findById(@PathVariable("id") String id, ServerWebExchange exchange) {
         return service.findById(id)
                 .map(this::convertToDto)
-                .map(e -> ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(e))
+                // Sin @Version en facturas: ETag = hash del JSON; 304 si el cliente ya lo tiene
+                .map(e -> conditional.ok(exchange, "invoices", e, null))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
@@ -138,7 +173,8 @@ public class InvoiceController {
 
                         pageSupport.getPageNumber(), // Número de la página actual
                         pageSupport.getPageSize(), // Tamaño de la página
-                        pageSupport.getTotalElements() // Total de elementos
+                        pageSupport.getTotalElements(), // Total de elementos
+                        pageSupport.isApproximate() // Si el total es aproximado
                 ))
 
                 // Empaquetamos el resultado dentro de un ResponseEntity en formato JSON
@@ -149,9 +185,27 @@ public class InvoiceController {
 
     }
 
+    @GetMapping("/cursor")
+    public Mono<ResponseEntity<CursorPage<InvoiceDTO>>> getCursorPage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "2") int size) {
+
+        // Sin "cursor" se entrega la primera página; para seguir se envía el "next"
+        // recibido en la respuesta anterior
+        return service.getCursorPage(cursor, size)
+                .map(cursorPage -> new CursorPage<>(
+                        cursorPage.getContent().stream().map(this::convertToDto).toList(),
+                        cursorPage.getPageSize(), // Tamaño de la página
+                        cursorPage.getNext() // Cursor de la siguiente página
+                ))
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e));
+    }
+
     @GetMapping("/hateoas/{id}")
     public Mono<EntityModel<InvoiceDTO>> getHateoas(@PathVariable("id") String id) {
-        Mono<Link> monoLink = linkTo(methodOn(InvoiceController.class).findById(id))
+        Mono<Link> monoLink = linkTo(methodOn(InvoiceController.class).findById(id, null))
                 .withRel("invoice-link")
                 .toMono();
 
@@ -160,12 +214,80 @@ public class InvoiceController {
                 .zipWith(monoLink, EntityModel::of); // Combinó el DTO + el link de hateoas
     }
 
+    // Exportación masiva: ZIP con un PDF por factura, escrito en la respuesta a medida que
+    // se genera cada PDF
+    @PostMapping("/generateReport/zip")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateReportZip(@RequestBody InvoiceReportRequestDTO request,
+            ServerWebExchange exchange) {
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && request.getClientId() == null) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return Mono.just(ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"invoices.zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(service.generateReportZip(request.getIds(), request.getClientId(),
+                        exchange.getResponse().bufferFactory())));
+    }
+
+    // Reporte asíncrono: responde 202 con el trabajo; el estado se consulta en Location
+    @PostMapping("/reports")
+    public Mono<ResponseEntity<ReportJob>> submitReport(@Valid @RequestBody ReportJobRequestDTO dto,
+            final ServerHttpRequest req) {
+        return service.submitReportJob(dto.getInvoiceId())
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create(req.getURI().toString().concat("/").concat(job.getId())))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(job))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/reports/{jobId}")
+    public Mono<ResponseEntity<ReportJob>> getReportJob(@PathVariable("jobId") String jobId) {
+        return service.findReportJob(jobId)
+                .map(job -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(job))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // Se sirve el archivo directamente desde disco; 409 si el trabajo aún no termina
+    @GetMapping("/reports/{jobId}/download")
+    public Mono<ResponseEntity<Resource>> downloadReport(@PathVariable("jobId") String jobId) {
+        return service.findReportJob(jobId)
+                .map(job -> {
+                    if (job.getStatus() != ReportJobStatus.DONE) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).<Resource>build();
+                    }
+                    return ResponseEntity.ok()
+                            .header(HttpHeaders.CONTENT_DISPOSITION,
+                                    "attachment; filename=\"invoice-" + job.getInvoiceId() + ".pdf\"")
+                            .contentType(MediaType.APPLICATION_PDF)
+                            .<Resource>body(new FileSystemResource(job.getFile()));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/generateReport/{id}")
-    public Mono<ResponseEntity<byte[]>> generateReport(@PathVariable("id") String id) {
-        return service.generateReport(id)
-                .map(bytes -> ResponseEntity.ok()
-                        .contentType(MediaType.APPLICATION_PDF)
-                        .body(bytes))
+    public Mono<ResponseEntity<Flux<DataBuffer>>> generateReport(@PathVariable("id") String id,
+            ServerWebExchange exchange) {
+        // La misma lectura da el ETag y los datos del PDF
+        return service.prepareReport(id)
+                .flatMap(report -> {
+                    String eTag = "\"" + report.version() + "\"";
+
+                    // Si el cliente ya tiene esta versión (If-None-Match) se responde 304 sin generar
+                    if (exchange.checkNotModified(eTag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Flux<DataBuffer>>build());
+                    }
+
+                    // Sin Content-Length: el PDF se envía con chunked transfer a medida que se exporta
+                    return Mono.just(ResponseEntity.ok()
+                            .eTag(eTag)
+                            .contentType(MediaType.APPLICATION_PDF)
+                            .body(service.generateReport(report, exchange.getResponse().bufferFactory())));
+                })
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
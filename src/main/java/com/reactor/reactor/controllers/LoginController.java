@@ -3,7 +3,7 @@ package com.reactor.reactor.controllers;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.RestController;
 import com.reactor.reactor.security.AuthReponse;
 import com.reactor.reactor.security.AuthRequest;
 import com.reactor.reactor.security.JwtUtil;
+import com.reactor.reactor.security.LoginThrottle;
+import com.reactor.reactor.security.LoginVerifier;
 import com.reactor.reactor.services.IUserService;
 
 import reactor.core.publisher.Mono;
@@ -38,6 +40,12 @@ public class LoginController {
     // Servicio que maneja la búsqueda y persistencia de usuarios
     private final IUserService service;
 
+    // Límite de intentos por usuario e IP
+    private final LoginThrottle throttle;
+
+    // Pool acotado donde se ejecuta BCrypt (fuera del event loop)
+    private final LoginVerifier verifier;
+
     /**
      * Endpoint POST para iniciar sesión.
      * 
@@ -46,30 +54,39 @@ public class LoginController {
      * credenciales son correctas.
      *
      * @param authRequest Objeto que contiene username y password
+     * @param req         Solicitud HTTP (para obtener la IP del cliente)
      * @return Mono<ResponseEntity<?>> operación reactiva que emite la respuesta
      *         HTTP
      */
     @PostMapping("/login")
-    public Mono<ResponseEntity<?>> login(@RequestBody AuthRequest authRequest) {
-        // Busca el usuario en la base de datos (reactivo)
-        return service.searchByUser(authRequest.getUsername())
-                .map(userDetails -> {
-                    // Verifica que la contraseña proporcionada coincida con el hash almacenado
-                    if (BCrypt.checkpw(authRequest.getPassword(), userDetails.getPassword())) {
-                        // Genera un token JWT para el usuario autenticado
-                        String token = jwtUtil.generateToken(userDetails);
+    public Mono<ResponseEntity<?>> login(@RequestBody AuthRequest authRequest, ServerHttpRequest req) {
+        String ip = LoginThrottle.clientIp(req.getRemoteAddress());
+
+        // Primero el límite de intentos: una ráfaga se rechaza (429) antes de consultar y verificar
+        return Mono.fromRunnable(() -> throttle.acquire(authRequest.getUsername(), ip))
+                // Busca el usuario en la base de datos (reactivo)
+                .then(service.searchByUser(authRequest.getUsername()))
+                // Verifica la contraseña en el pool de login (BCrypt no corre en el event loop)
+                .flatMap(userDetails -> verifier.matches(authRequest.getPassword(), userDetails.getPassword())
+                        .map(matches -> {
+                            // Verifica que la contraseña proporcionada coincida con el hash almacenado
+                            if (matches) {
+                                throttle.reset(authRequest.getUsername());
+
+                                // Genera un token JWT para el usuario autenticado
+                                String token = jwtUtil.generateToken(userDetails);
 
-                        // Obtiene la fecha de expiración del token
-                        Date expiration = jwtUtil.getExpirationDateFromToken(token);
+                                // Obtiene la fecha de expiración del token
+                                Date expiration = jwtUtil.getExpirationDateFromToken(token);
 
-                        // Devuelve un ResponseEntity con status 200 OK y el token dentro de
-                        // AuthResponse
-                        return ResponseEntity.ok(new AuthReponse(token, expiration));
-                    } else {
-                        // Si la contraseña no coincide, devuelve status 401 Unauthorized
-                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-                    }
-                })
+                                // Devuelve un ResponseEntity con status 200 OK y el token dentro de
+                                // AuthResponse
+                                return ResponseEntity.ok(new AuthReponse(token, expiration));
+                            } else {
+                                // Si la contraseña no coincide, devuelve status 401 Unauthorized
+                                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                            }
+                        }))
                 // Si no se encuentra el usuario, también devuelve 401 Unauthorized
                 .defaultIfEmpty(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
     }
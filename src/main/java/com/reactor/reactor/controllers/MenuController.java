@@ -10,14 +10,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.reactor.reactor.models.Menu;
 import com.reactor.reactor.services.IMenuService;
 
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/menus")
@@ -26,20 +23,17 @@ public class MenuController {
 
     private final IMenuService service;
 
+    // El JSON ya serializado por conjunto de roles: los conjuntos habituales no consultan Mongo
     @GetMapping
-    public Mono<ResponseEntity<Flux<Menu>>> getMenus() {
+    public Mono<ResponseEntity<byte[]>> getMenus() {
         return ReactiveSecurityContextHolder.getContext()
                 .map(SecurityContext::getAuthentication)
                 .map(Authentication::getAuthorities)
-                .map(roles -> {
-                    String roleStrings = roles.stream().map(Objects::toString).collect(Collectors.joining(","));
-                    String[] stringArray = roleStrings.split(",");
-                    return service.getMenus(stringArray);
-                })
-                .flatMap(fx -> Mono.just(ResponseEntity
+                .flatMap(roles -> service.getMenusJson(roles.stream().map(Objects::toString).toList()))
+                .map(json -> ResponseEntity
                         .ok()
                         .contentType(MediaType.APPLICATION_JSON)
-                        .body(fx)));
+                        .body(json));
     }
 
 }
@@ -0,0 +1,139 @@
+package com.reactor.reactor.controllers;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.reactor.reactor.dtos.ClientSalesDTO;
+import com.reactor.reactor.dtos.DishSalesDTO;
+import com.reactor.reactor.models.SalesSummary;
+import com.reactor.reactor.services.ISalesAnalyticsService;
+import com.reactor.reactor.services.ISalesSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Reportes de ventas. Fechas en formato ISO (yyyy-MM-dd), ambas inclusivas
+@RestController
+@RequestMapping("/sales")
+@RequiredArgsConstructor
+public class SalesController {
+
+    private final ISalesAnalyticsService service;
+
+    private final ISalesSummaryService summaryService;
+
+    // Máximo de filas por consulta: los valores mayores se recortan
+    @Value("${app.sales.max-limit:1000}")
+    private int maxLimit = 1000;
+
+    // Ingreso por plato (opcionalmente solo las compras de un cliente)
+    @GetMapping("/dishes")
+    public Mono<ResponseEntity<Flux<DishSalesDTO>>> salesByDish(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "clientId", required = false) String clientId,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return validLimit(limit).map(rows -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.salesByDish(from, to, clientId, false, rows)));
+    }
+
+    // Los platos más vendidos (por unidades)
+    @GetMapping("/dishes/top")
+    public Mono<ResponseEntity<Flux<DishSalesDTO>>> topSellers(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "clientId", required = false) String clientId,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return validLimit(limit).map(rows -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.salesByDish(from, to, clientId, true, rows)));
+    }
+
+    // Ingreso por cliente
+    @GetMapping("/clients")
+    public Mono<ResponseEntity<Flux<ClientSalesDTO>>> salesByClient(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return validLimit(limit).map(rows -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.salesByClient(from, to, rows)));
+    }
+
+    /*
+     * Resumen materializado (sales_summary): lecturas de un día por índice, sin
+     * recorrer las facturas. type = dishes | clients
+     */
+    @GetMapping("/summary/{type}")
+    public Mono<ResponseEntity<Flux<SalesSummary>>> summary(@PathVariable("type") String type,
+            @RequestParam(name = "day", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @RequestParam(name = "sort", defaultValue = "quantity") String sort,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        // Query.limit(0) en Mongo significa "sin límite": se valida igual que en las agregaciones
+        return validLimit(limit).flatMap(rows -> Mono.justOrEmpty(summaryType(type))
+                .map(summaryType -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(summaryService.top(summaryType, dayOrToday(day), sort, rows)))
+                .defaultIfEmpty(ResponseEntity.notFound().build()));
+    }
+
+    @GetMapping("/summary/{type}/{key}")
+    public Mono<ResponseEntity<SalesSummary>> summaryOf(@PathVariable("type") String type,
+            @PathVariable("key") String key,
+            @RequestParam(name = "day", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return Mono.justOrEmpty(summaryType(type))
+                .flatMap(summaryType -> summaryService.find(summaryType, key, dayOrToday(day)))
+                .map(e -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(e))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // Backfill: recalcula el resumen completo desde las facturas
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @PostMapping("/summary/rebuild")
+    public Mono<ResponseEntity<Map<String, Long>>> rebuildSummary() {
+        return summaryService.rebuild()
+                .map(total -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(Map.of("invoices", total)));
+    }
+
+    // limit < 1 es un error del cliente (Mongo rechaza $limit: 0); uno mayor al máximo se recorta
+    private Mono<Integer> validLimit(int limit) {
+        if (limit < 1) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be at least 1"));
+        }
+        return Mono.just(Math.min(limit, Math.max(1, maxLimit)));
+    }
+
+    private static SalesSummary.Type summaryType(String type) {
+        return switch (type) {
+            case "dishes" -> SalesSummary.Type.DISH;
+            case "clients" -> SalesSummary.Type.CLIENT;
+            default -> null;
+        };
+    }
+
+    private static LocalDate dayOrToday(LocalDate day) {
+        return day != null ? day : LocalDate.now(ZoneOffset.UTC);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.reactor.reactor.converters;
+
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import com.reactor.reactor.models.Client;
+
+// Client <-> Document; también se usa para el cliente embebido en la factura
+public final class ClientConverter {
+
+    private ClientConverter() {
+    }
+
+    static Document write(Client client) {
+        Document document = new Document();
+        MongoValues.put(document, "_id", MongoValues.writeId(client.getId()));
+        MongoValues.put(document, "firstName", client.getFirstName());
+        MongoValues.put(document, "lastName", client.getLastName());
+        MongoValues.put(document, "birthDate", MongoValues.writeDate(client.getBirthDate()));
+        MongoValues.put(document, "urlPhoto", client.getUrlPhoto());
+        MongoValues.put(document, "version", client.getVersion());
+        return document;
+    }
+
+    static Client read(Document document) {
+        return new Client(
+                MongoValues.readId(document.get("_id")),
+                document.getString("firstName"),
+                document.getString("lastName"),
+                MongoValues.readDate(document.get("birthDate")),
+                document.getString("urlPhoto"),
+                MongoValues.readLong(document.get("version")));
+    }
+
+    @WritingConverter
+    public enum Writing implements Converter<Client, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Client source) {
+            return write(source);
+        }
+    }
+
+    @ReadingConverter
+    public enum Reading implements Converter<Document, Client> {
+        INSTANCE;
+
+        @Override
+        public Client convert(Document source) {
+            return read(source);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.reactor.reactor.converters;
+
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import com.reactor.reactor.models.Dish;
+
+// Dish <-> Document sin pasar por el mapeo reflexivo de MappingMongoConverter
+public final class DishConverter {
+
+    private DishConverter() {
+    }
+
+    static Document write(Dish dish) {
+        Document document = new Document();
+        MongoValues.put(document, "_id", MongoValues.writeId(dish.getId()));
+        MongoValues.put(document, "name", dish.getName());
+        MongoValues.put(document, "price", dish.getPrice());
+        MongoValues.put(document, "status", dish.getStatus());
+        MongoValues.put(document, "version", dish.getVersion());
+        return document;
+    }
+
+    static Dish read(Document document) {
+        return new Dish(
+                MongoValues.readId(document.get("_id")),
+                document.getString("name"),
+                MongoValues.readDouble(document.get("price")),
+                document.getBoolean("status"),
+                MongoValues.readLong(document.get("version")));
+    }
+
+    @WritingConverter
+    public enum Writing implements Converter<Dish, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Dish source) {
+            return write(source);
+        }
+    }
+
+    @ReadingConverter
+    public enum Reading implements Converter<Document, Dish> {
+        INSTANCE;
+
+        @Override
+        public Dish convert(Document source) {
+            return read(source);
+        }
+    }
+
+}
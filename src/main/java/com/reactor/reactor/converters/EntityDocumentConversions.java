@@ -0,0 +1,36 @@
+package com.reactor.reactor.converters;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.data.mapping.model.SimpleTypeHolder;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+/*
+ * MongoCustomConversions para converters entidad <-> Document.
+ * Un writing converter hacia Document convierte al tipo de origen en "simple" y el
+ * MappingContext deja de recorrer sus propiedades: las consultas sobre "client.id" o
+ * "items.dish.id" ya no se traducirían a "_id"/ObjectId. Por eso se expone el
+ * SimpleTypeHolder de las conversiones por defecto; los converters siguen aplicándose
+ * porque MappingMongoConverter revisa primero los custom write/read targets.
+ */
+public class EntityDocumentConversions extends MongoCustomConversions {
+
+    private static final SimpleTypeHolder DEFAULT_SIMPLE_TYPES = new MongoCustomConversions(Collections.emptyList())
+            .getSimpleTypeHolder();
+
+    public EntityDocumentConversions(List<?> converters) {
+        super(converters);
+    }
+
+    @Override
+    public SimpleTypeHolder getSimpleTypeHolder() {
+        return DEFAULT_SIMPLE_TYPES;
+    }
+
+    @Override
+    public boolean isSimpleType(Class<?> type) {
+        return DEFAULT_SIMPLE_TYPES.isSimpleType(type);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.reactor.reactor.converters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+
+// Invoice <-> Document con el cliente y los items (InvoiceDetail) embebidos
+public final class InvoiceConverter {
+
+    private InvoiceConverter() {
+    }
+
+    static Document write(Invoice invoice) {
+        Document document = new Document();
+        MongoValues.put(document, "_id", MongoValues.writeId(invoice.getId()));
+        MongoValues.put(document, "description", invoice.getDescription());
+        if (invoice.getClient() != null) {
+            document.put("client", ClientConverter.write(invoice.getClient()));
+        }
+        if (invoice.getItems() != null) {
+            List<Document> items = new ArrayList<>(invoice.getItems().size());
+            for (InvoiceDetail item : invoice.getItems()) {
+                items.add(item == null ? null : writeDetail(item));
+            }
+            document.put("items", items);
+        }
+        MongoValues.put(document, "version", invoice.getVersion());
+        return document;
+    }
+
+    static Invoice read(Document document) {
+        Document client = document.get("client", Document.class);
+        List<?> items = document.get("items", List.class);
+
+        List<InvoiceDetail> details = null;
+        if (items != null) {
+            details = new ArrayList<>(items.size());
+            for (Object item : items) {
+                details.add(item == null ? null : readDetail((Document) item));
+            }
+        }
+
+        return new Invoice(
+                MongoValues.readId(document.get("_id")),
+                document.getString("description"),
+                client == null ? null : ClientConverter.read(client),
+                details,
+                MongoValues.readLong(document.get("version")));
+    }
+
+    static Document writeDetail(InvoiceDetail detail) {
+        Document document = new Document("quantity", detail.getQuantity());
+        if (detail.getDish() != null) {
+            document.put("dish", DishConverter.write(detail.getDish()));
+        }
+        return document;
+    }
+
+    static InvoiceDetail readDetail(Document document) {
+        Document dish = document.get("dish", Document.class);
+        return new InvoiceDetail(
+                MongoValues.readInt(document.get("quantity")),
+                dish == null ? null : DishConverter.read(dish));
+    }
+
+    @WritingConverter
+    public enum Writing implements Converter<Invoice, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(Invoice source) {
+            return write(source);
+        }
+    }
+
+    @ReadingConverter
+    public enum Reading implements Converter<Document, Invoice> {
+        INSTANCE;
+
+        @Override
+        public Invoice convert(Document source) {
+            return read(source);
+        }
+    }
+
+    @WritingConverter
+    public enum DetailWriting implements Converter<InvoiceDetail, Document> {
+        INSTANCE;
+
+        @Override
+        public Document convert(InvoiceDetail source) {
+            return writeDetail(source);
+        }
+    }
+
+    @ReadingConverter
+    public enum DetailReading implements Converter<Document, InvoiceDetail> {
+        INSTANCE;
+
+        @Override
+        public InvoiceDetail convert(Document source) {
+            return readDetail(source);
+        }
+    }
+
+}
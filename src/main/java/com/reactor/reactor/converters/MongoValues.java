@@ -0,0 +1,60 @@
+package com.reactor.reactor.converters;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+// Conversiones de valores compartidas por los converters, con las mismas reglas que
+// aplica MappingMongoConverter
+final class MongoValues {
+
+    private MongoValues() {
+    }
+
+    // Un id String que es un ObjectId válido se guarda como ObjectId
+    static Object writeId(String id) {
+        return id != null && ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    static String readId(Object value) {
+        if (value instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        return value == null ? null : value.toString();
+    }
+
+    // Los campos nulos no se escriben en el documento
+    static void put(Document document, String key, Object value) {
+        if (value != null) {
+            document.put(key, value);
+        }
+    }
+
+    // LocalDate <-> Date al inicio del día en la zona del sistema (Jsr310Converters)
+    static Date writeDate(LocalDate value) {
+        return value == null ? null : Date.from(value.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    static LocalDate readDate(Object value) {
+        return value == null ? null
+                : LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault()).toLocalDate();
+    }
+
+    // Los números pueden llegar como Int32/Int64/Double si se insertaron desde fuera de la app
+    static Double readDouble(Object value) {
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+
+    static Long readLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    static int readInt(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+}
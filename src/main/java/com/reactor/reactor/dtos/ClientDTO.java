@@ -29,4 +29,7 @@ public class ClientDTO {
 
     private String picture;
 
+    // Versión leída por el cliente; si se envía en el PUT se valida que no haya cambiado
+    private Long version;
+
 }
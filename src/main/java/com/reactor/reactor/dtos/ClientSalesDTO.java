@@ -0,0 +1,22 @@
+package com.reactor.reactor.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Compras de un cliente en el periodo: unidades e ingreso (cantidad x precio)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClientSalesDTO {
+
+    private String clientId;
+    private String firstName;
+    private String lastName;
+    private long quantity;
+    private double revenue;
+
+}
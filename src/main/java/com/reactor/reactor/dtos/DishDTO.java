@@ -30,4 +30,11 @@ public class DishDTO {
     @NotNull
     private Boolean statusDish;
 
+    // Versión leída por el cliente; si se envía en el PUT se valida que no haya cambiado
+    private Long version;
+
+    public DishDTO(String id, String nameDish, Double priceDish, Boolean statusDish) {
+        this(id, nameDish, priceDish, statusDish, null);
+    }
+
 }
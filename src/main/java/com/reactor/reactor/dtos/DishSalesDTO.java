@@ -0,0 +1,22 @@
+package com.reactor.reactor.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Ventas de un plato en el periodo: unidades vendidas e ingreso (cantidad x precio)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DishSalesDTO {
+
+    private String dishId;
+    private String name;
+    private Double price;
+    private long quantity;
+    private double revenue;
+
+}
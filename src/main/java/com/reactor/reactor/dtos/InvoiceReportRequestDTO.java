@@ -0,0 +1,25 @@
+package com.reactor.reactor.dtos;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Solicitud de exportación masiva de reportes: una lista de ids de facturas o
+ * un filtro por cliente (todas sus facturas).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InvoiceReportRequestDTO {
+
+    private List<String> ids;
+
+    private String clientId;
+
+}
@@ -0,0 +1,16 @@
+package com.reactor.reactor.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportJobRequestDTO {
+
+    @NotNull
+    private String invoiceId;
+
+}
@@ -0,0 +1,26 @@
+package com.reactor.reactor.exceptions;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/*
+ * Error para rechazar una solicitud por saturación (503) o por exceso de
+ * solicitudes (429). WebExceptionHandler agrega el header Retry-After con el
+ * tiempo sugerido para reintentar.
+ */
+public class RetryLaterException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    public RetryLaterException(HttpStatus status, String reason, Duration retryAfter) {
+        super(status, reason);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+}
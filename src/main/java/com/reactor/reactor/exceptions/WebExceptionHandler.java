@@ -12,6 +12,9 @@ import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
@@ -77,6 +80,30 @@ public class WebExceptionHandler extends AbstractErrorWebExceptionHandler {
                     .body(BodyInserters.fromValue(response));
         }
 
+        // Solicitud rechazada por saturación o por exceso de intentos: se indica cuándo reintentar
+        if (error instanceof RetryLaterException retryLater) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", retryLater.getReason());
+            response.put("status", retryLater.getStatusCode().value());
+
+            return ServerResponse.status(retryLater.getStatusCode())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryLater.getRetryAfter().toSeconds()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BodyInserters.fromValue(response));
+        }
+
+        // Conflicto de versión (@Version): otro cliente actualizó el documento primero.
+        // Clave duplicada: por ej. un POST con el id de un documento que ya existe
+        if (error instanceof OptimisticLockingFailureException || error instanceof DuplicateKeyException) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", error.getMessage());
+            response.put("status", HttpStatus.CONFLICT.value());
+
+            return ServerResponse.status(HttpStatus.CONFLICT)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(BodyInserters.fromValue(response));
+        }
+
         // Si no es un error de validación, usamos el manejo genérico
         Map<String, Object> generalError = getErrorAttributes(request, ErrorAttributeOptions.defaults());
 
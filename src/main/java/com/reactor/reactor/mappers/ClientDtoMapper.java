@@ -0,0 +1,32 @@
+package com.reactor.reactor.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.reactor.reactor.dtos.ClientDTO;
+import com.reactor.reactor.models.Client;
+
+/*
+ * Conversión Client <-> ClientDTO con los TypeMap que tenía "clientMapper":
+ * firstName <-> lastName, lastName <-> surname, birthDate <-> birthDateClient,
+ * urlPhoto <-> picture
+ */
+@Component
+public class ClientDtoMapper {
+
+    public ClientDTO toDto(Client model) {
+        if (model == null) {
+            return null;
+        }
+        return new ClientDTO(model.getId(), model.getFirstName(), model.getLastName(), model.getBirthDate(),
+                model.getUrlPhoto(), model.getVersion());
+    }
+
+    public Client toDocument(ClientDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new Client(dto.getId(), dto.getLastName(), dto.getSurname(), dto.getBirthDateClient(),
+                dto.getPicture(), dto.getVersion());
+    }
+
+}
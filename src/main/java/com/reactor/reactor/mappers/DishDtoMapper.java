@@ -0,0 +1,30 @@
+package com.reactor.reactor.mappers;
+
+import org.springframework.stereotype.Component;
+
+import com.reactor.reactor.dtos.DishDTO;
+import com.reactor.reactor.models.Dish;
+
+/*
+ * Conversión Dish <-> DishDTO escrita a mano: mismas correspondencias que resolvía
+ * "defaultMapper" (name -> nameDish, price -> priceDish, status -> statusDish), pero
+ * sin reflexión ni resolución de propiedades por cada elemento.
+ */
+@Component
+public class DishDtoMapper {
+
+    public DishDTO toDto(Dish model) {
+        if (model == null) {
+            return null;
+        }
+        return new DishDTO(model.getId(), model.getName(), model.getPrice(), model.getStatus(), model.getVersion());
+    }
+
+    public Dish toDocument(DishDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        return new Dish(dto.getId(), dto.getNameDish(), dto.getPriceDish(), dto.getStatusDish(), dto.getVersion());
+    }
+
+}
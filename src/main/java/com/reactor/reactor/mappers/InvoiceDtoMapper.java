@@ -0,0 +1,82 @@
+package com.reactor.reactor.mappers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.reactor.reactor.dtos.ClientDTO;
+import com.reactor.reactor.dtos.InvoiceDTO;
+import com.reactor.reactor.dtos.InvoiceDetailDTO;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * Conversión Invoice <-> InvoiceDTO (con su cliente y sus items) sin recorrer el grafo
+ * por reflexión en cada fila.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvoiceDtoMapper {
+
+    private final DishDtoMapper dishMapper;
+
+    public InvoiceDTO toDto(Invoice model) {
+        if (model == null) {
+            return null;
+        }
+        List<InvoiceDetailDTO> items = null;
+        if (model.getItems() != null) {
+            items = new ArrayList<>(model.getItems().size());
+            for (InvoiceDetail item : model.getItems()) {
+                items.add(item == null ? null : new InvoiceDetailDTO(item.getQuantity(), dishMapper.toDto(item.getDish())));
+            }
+        }
+        return new InvoiceDTO(model.getId(), model.getDescription(), clientToDto(model.getClient()), items);
+    }
+
+    public Invoice toDocument(InvoiceDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        List<InvoiceDetail> items = null;
+        if (dto.getItems() != null) {
+            items = new ArrayList<>(dto.getItems().size());
+            for (InvoiceDetailDTO item : dto.getItems()) {
+                items.add(item == null ? null : new InvoiceDetail(item.getQuantity(), dishMapper.toDocument(item.getDish())));
+            }
+        }
+        return new Invoice(dto.getId(), dto.getDescription(), clientToDocument(dto.getClient()), items);
+    }
+
+    // El cliente de la factura se mapeaba con "defaultMapper" (no con "clientMapper"),
+    // que solo emparejaba los nombres iguales: id, lastName, birthDate y version. Se
+    // conserva tal cual para no cambiar el JSON de /invoices
+    private ClientDTO clientToDto(Client model) {
+        if (model == null) {
+            return null;
+        }
+        ClientDTO dto = new ClientDTO();
+        dto.setId(model.getId());
+        dto.setLastName(model.getLastName());
+        dto.setBirthDateClient(model.getBirthDate());
+        dto.setVersion(model.getVersion());
+        return dto;
+    }
+
+    private Client clientToDocument(ClientDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        Client model = new Client();
+        model.setId(dto.getId());
+        model.setLastName(dto.getLastName());
+        model.setBirthDate(dto.getBirthDateClient());
+        model.setVersion(dto.getVersion());
+        return model;
+    }
+
+}
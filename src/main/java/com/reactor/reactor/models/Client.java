@@ -3,6 +3,7 @@ package com.reactor.reactor.models;
 import java.time.LocalDate;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -34,4 +35,8 @@ public class Client {
     @Field
     private String urlPhoto;
 
+    // Control de concurrencia optimista: se incrementa en cada actualización
+    @Version
+    private Long version;
+
 }
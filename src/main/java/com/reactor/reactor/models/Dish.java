@@ -1,6 +1,7 @@
 package com.reactor.reactor.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -29,4 +30,12 @@ public class Dish {
     @Field()
     private Boolean status;
 
+    // Control de concurrencia optimista: se incrementa en cada actualización
+    @Version
+    private Long version;
+
+    public Dish(String id, String name, Double price, Boolean status) {
+        this(id, name, price, status, null);
+    }
+
 }
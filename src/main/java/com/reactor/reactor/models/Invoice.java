@@ -3,6 +3,7 @@ package com.reactor.reactor.models;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -30,4 +31,13 @@ public class Invoice {
 
     private List<InvoiceDetail> items;
 
+    // Se incrementa en cada escritura: identifica el contenido de la factura (ETag del
+    // reporte) sin tener que leer todos sus items
+    @Version
+    private Long version;
+
+    public Invoice(String id, String description, Client client, List<InvoiceDetail> items) {
+        this(id, description, client, items, null);
+    }
+
 }
@@ -0,0 +1,56 @@
+package com.reactor.reactor.models;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Resumen de ventas por día de un plato o de un cliente, mantenido con $inc en
+ * cada escritura de facturas (vista materializada de /sales).
+ * _id = "<type>:<key>:<day>", ej: "DISH:66a1...:2025-01-31"
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "sales_summary")
+public class SalesSummary {
+
+    public enum Type {
+        DISH, CLIENT
+    }
+
+    @Id
+    private String id;
+
+    @Field
+    private Type type;
+
+    @Field
+    private String key; // Id del plato o del cliente
+
+    @Field
+    private String day; // yyyy-MM-dd (UTC)
+
+    @Field
+    private long quantity; // Unidades vendidas
+
+    @Field
+    private double revenue; // Cantidad x precio
+
+    @Field
+    private long invoices; // Facturas que incluyen el plato / del cliente
+
+    @Field
+    private Date updatedAt; // Hora del servidor de Mongo en la última escritura (rebuild o $inc)
+
+    public static String idOf(Type type, String key, String day) {
+        return type + ":" + key + ":" + day;
+    }
+
+}
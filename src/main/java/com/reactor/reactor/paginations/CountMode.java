@@ -0,0 +1,12 @@
+package com.reactor.reactor.paginations;
+
+/*
+ * Estrategia para obtener el totalElements de PageSupport.
+ */
+public enum CountMode {
+
+    EXACT, // count() exacto en cada página (costo proporcional a la colección)
+    ESTIMATED, // estimatedDocumentCount: lee la metadata de la colección, aproximado
+    CACHED // count() exacto reutilizado durante un TTL e invalidado en save/delete
+
+}
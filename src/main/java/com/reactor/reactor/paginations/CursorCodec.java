@@ -0,0 +1,39 @@
+package com.reactor.reactor.paginations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/*
+ * Codifica y decodifica el cursor opaco de CursorPage.
+ * El cursor contiene el _id del último elemento entregado, en Base64 URL-safe
+ * para que se pueda enviar como query param sin escapar.
+ */
+public final class CursorCodec {
+
+    private static final String PREFIX = "id:"; // Permite versionar el formato del cursor
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX) || value.length() == PREFIX.length()) {
+                throw new IllegalArgumentException(value);
+            }
+            return value.substring(PREFIX.length());
+        } catch (IllegalArgumentException e) {
+            // Un cursor manipulado o corrupto es un error del cliente (400)
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+}
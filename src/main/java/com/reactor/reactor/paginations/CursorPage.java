@@ -0,0 +1,33 @@
+package com.reactor.reactor.paginations;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Página basada en cursor (keyset pagination).
+ * En vez de pageNumber/totalElements se devuelve un cursor opaco "next" con la
+ * posición del último elemento entregado, así cada página cuesta lo mismo sin
+ * importar qué tan lejos esté el cliente.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content; // Ej: ["Pizza", "Sushi"]
+    private int pageSize; // Ej: 2 (elementos por página)
+
+    private String next; // Cursor para pedir la siguiente página, null si ya no hay más
+
+    @JsonProperty
+    public boolean last() {
+        // Si no hay cursor siguiente, esta es la última página
+        return next == null;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.reactor.reactor.paginations;
+
+/*
+ * Resultado de un conteo de elementos e indicador de si el valor es aproximado
+ * (estimado o tomado de la caché).
+ */
+public record ElementCount(
+        long total, // Total de elementos
+        boolean approximate) { // true si no proviene de un count() exacto en este momento
+
+}
@@ -22,6 +22,12 @@ public class PageSupport<T> {
 
     private long totalElements; // Ej: 7 (total de elementos en todas las páginas)
 
+    private boolean approximate; // true si totalElements es estimado o viene de la caché
+
+    public PageSupport(List<T> content, int pageNumber, int pageSize, long totalElements) {
+        this(content, pageNumber, pageSize, totalElements, false);
+    }
+
     // te permite incorporar métodos como resultado de un JSON
     @JsonProperty
     public long totalPages() {
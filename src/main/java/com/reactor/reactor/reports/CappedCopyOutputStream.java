@@ -0,0 +1,52 @@
+package com.reactor.reactor.reports;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*
+ * Escribe en el stream de destino y guarda una copia en memoria solo mientras
+ * no supere maxBytes. Sirve para llenar la caché de PDFs con los reportes
+ * pequeños mientras se transmiten, sin retener en heap los reportes grandes.
+ */
+public class CappedCopyOutputStream extends FilterOutputStream {
+
+    private final int maxBytes;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    public CappedCopyOutputStream(OutputStream out, int maxBytes) {
+        super(out);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        copy(new byte[] { (byte) b }, 0, 1);
+    }
+
+    // FilterOutputStream escribe byte a byte por defecto: se delega el bloque completo
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        copy(b, off, len);
+    }
+
+    private void copy(byte[] b, int off, int len) {
+        if (copy == null) {
+            return;
+        }
+        if (copy.size() + len > maxBytes) {
+            copy = null; // Superó el límite: se descarta la copia y se deja de copiar
+            return;
+        }
+        copy.write(b, off, len);
+    }
+
+    // Contenido escrito, o null si superó el límite
+    public byte[] toByteArray() {
+        return copy != null ? copy.toByteArray() : null;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.reactor.reactor.reports;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/*
+ * Versión corta (SHA-256, 16 caracteres hex) de un contenido. Si el contenido
+ * cambia, cambia la versión: sirve como llave de caché y como ETag.
+ */
+public final class ContentVersion {
+
+    private ContentVersion() {
+    }
+
+    public static String of(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String of(String... parts) {
+        return of(String.join("|", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.reactor.reactor.reports;
+
+import java.util.Map;
+
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+
+/*
+ * Datos de un reporte de factura, leídos una sola vez: la cabecera de la factura
+ * (sin items) con su cliente, los platos que referencia, la cantidad de líneas y
+ * la versión calculada a partir de esos mismos datos. Así el ETag y la llave de
+ * la caché describen exactamente el PDF que se genera con ellos. Los items se
+ * leen de Mongo al llenar el reporte, filtrados por la versión de la factura.
+ */
+public record InvoiceReport(String invoiceId, String version, Invoice invoice, Map<String, Dish> dishes,
+        long itemCount) {
+}
@@ -0,0 +1,64 @@
+package com.reactor.reactor.reports;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.data.JRAbstractBeanDataSource;
+import reactor.core.publisher.Flux;
+
+/*
+ * JRDataSource que lee los beans de un Flux a medida que el reporte los pide,
+ * en vez de necesitar la colección completa en memoria (JRBeanCollectionDataSource).
+ * - Se piden como máximo "prefetch" elementos por adelantado (backpressure), así
+ * el llenado avanza mientras se siguen consultando los siguientes
+ * - next() bloquea esperando el siguiente elemento: usar solo en un hilo que
+ * permita bloquear (pool de reportes)
+ * - Solo se puede recorrer una vez (moveFirst no está soportado)
+ * - close() cancela la suscripción si el llenado termina antes (ej: error)
+ */
+public class ReactiveBeanDataSource<T> extends JRAbstractBeanDataSource implements AutoCloseable {
+
+    private final Flux<T> source;
+    private final int prefetch;
+
+    private Stream<T> stream;
+    private Iterator<T> iterator;
+    private T current;
+
+    public ReactiveBeanDataSource(Flux<T> source, int prefetch) {
+        super(true);
+        this.source = source;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public boolean next() {
+        if (iterator == null) {
+            // La suscripción se hace con el primer next(), en el hilo que llena el reporte
+            stream = source.toStream(prefetch);
+            iterator = stream.iterator();
+        }
+        current = iterator.hasNext() ? iterator.next() : null;
+        return current != null;
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) throws JRException {
+        return getFieldValue(current, field);
+    }
+
+    @Override
+    public void moveFirst() throws JRException {
+        throw new JRException("ReactiveBeanDataSource can only be iterated once");
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.reactor.reactor.reports;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Caché de PDFs ya generados, acotada por tamaño total en bytes (LRU).
+ * La llave es el id de la factura y cada entrada guarda la versión del
+ * contenido con la que se generó: si la factura cambió, la versión no coincide
+ * y se vuelve a generar. Las escrituras en IInvoiceService eliminan la entrada.
+ */
+@Component
+public class ReportCache {
+
+    private final long maxBytes;
+    private long currentBytes;
+
+    // accessOrder = true: el último leído queda al final (el primero es el menos usado)
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private record Entry(String version, byte[] content) {
+    }
+
+    public ReportCache(@Value("${app.reports.cache.max-bytes:67108864}") long maxBytes, MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.hits = Counter.builder("reports.cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("reports.cache.misses").register(meterRegistry);
+    }
+
+    // Retorna el PDF solo si fue generado con la misma versión del contenido
+    public synchronized byte[] get(String id, String version) {
+        Entry entry = entries.get(id);
+        if (entry != null && entry.version().equals(version)) {
+            hits.increment();
+            return entry.content();
+        }
+        misses.increment();
+        return null;
+    }
+
+    public synchronized void put(String id, String version, byte[] content) {
+        if (content.length == 0 || content.length > maxBytes) {
+            return; // Vacío (error al generar) o más grande que toda la caché
+        }
+        Entry previous = entries.put(id, new Entry(version, content));
+        currentBytes += content.length - (previous != null ? previous.content().length : 0);
+
+        // Se eliminan los menos usados hasta volver al límite
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().getValue().content().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void evict(String id) {
+        Entry removed = entries.remove(id);
+        if (removed != null) {
+            currentBytes -= removed.content().length;
+        }
+    }
+
+}
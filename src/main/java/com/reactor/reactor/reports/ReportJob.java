@@ -0,0 +1,81 @@
+package com.reactor.reactor.reports;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Getter;
+
+/*
+ * Trabajo de generación asíncrona de un reporte de factura.
+ * Lo modifica solo el hilo que lo ejecuta; los campos son volatile para que el
+ * endpoint de estado lea siempre el valor actual.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJob {
+
+    private final String id;
+    private final String invoiceId;
+    @JsonIgnore
+    private final String version; // Versión del contenido de la factura al crear el trabajo
+    private final Instant createdAt = Instant.now();
+
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile String error;
+    private volatile Instant finishedAt;
+    @JsonIgnore
+    private volatile Path file;
+    // true mientras el PDF terminado sigue en disco (lo apaga la limpieza periódica)
+    @JsonIgnore
+    private volatile boolean fileAvailable;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    public ReportJob(String id, String invoiceId, String version) {
+        this.id = id;
+        this.invoiceId = invoiceId;
+        this.version = version;
+    }
+
+    // Avance: bytes del PDF escritos hasta ahora
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    void start() {
+        status = ReportJobStatus.RUNNING;
+    }
+
+    void progress(long bytes) {
+        bytesWritten.addAndGet(bytes);
+    }
+
+    void complete(Path file) {
+        this.file = file;
+        this.fileAvailable = true;
+        this.finishedAt = Instant.now();
+        this.status = ReportJobStatus.DONE;
+    }
+
+    // El archivo se eliminó (TTL) o ya no está en disco: el trabajo no se reutiliza
+    void discardFile() {
+        this.fileAvailable = false;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = ReportJobStatus.FAILED;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == ReportJobStatus.DONE || status == ReportJobStatus.FAILED;
+    }
+
+}
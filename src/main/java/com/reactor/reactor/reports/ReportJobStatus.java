@@ -0,0 +1,8 @@
+package com.reactor.reactor.reports;
+
+public enum ReportJobStatus {
+    QUEUED, // Esperando turno en el pool de reportes
+    RUNNING, // Generándose (bytesWritten indica el avance)
+    DONE, // PDF listo para descargar
+    FAILED
+}
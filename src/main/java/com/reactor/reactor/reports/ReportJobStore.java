@@ -0,0 +1,152 @@
+package com.reactor.reactor.reports;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * Trabajos de reportes asíncronos y sus PDFs en disco.
+ * - Los PDFs terminados se guardan en app.reports.jobs.dir
+ * - Los trabajos terminados (y su archivo) se eliminan pasado app.reports.jobs.ttl
+ * - Un trabajo por factura y versión del contenido: solicitudes concurrentes (o
+ * repetidas dentro del TTL) de la misma factura comparten el mismo trabajo
+ */
+@Component
+public class ReportJobStore implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobStore.class);
+
+    private final Path directory;
+    private final Duration ttl;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>(); // id del trabajo -> trabajo
+    private final Map<String, ReportJob> byContent = new ConcurrentHashMap<>(); // factura:versión -> trabajo
+
+    private Disposable cleanup;
+
+    public ReportJobStore(@Value("${app.reports.jobs.dir:${java.io.tmpdir}/invoice-reports}") Path directory,
+            @Value("${app.reports.jobs.ttl:PT30M}") Duration ttl) {
+        this.directory = directory;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        Files.createDirectories(directory);
+        // Los archivos de una ejecución anterior ya no tienen trabajo asociado
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(this::deleteQuietly);
+        }
+        cleanup = Flux.interval(ttl.dividedBy(2).plusSeconds(1), Schedulers.boundedElastic())
+                .subscribe(tick -> removeExpired());
+    }
+
+    @Override
+    public void destroy() {
+        if (cleanup != null) {
+            cleanup.dispose();
+        }
+    }
+
+    /*
+     * Retorna el trabajo vigente de la factura en esa versión o crea uno nuevo.
+     * El runner recibe el trabajo recién creado (solo se llama una vez por
+     * factura y versión) y debe retornar el PDF a guardar.
+     */
+    public ReportJob submit(String invoiceId, String version, Function<ReportJob, Flux<DataBuffer>> runner) {
+        String key = invoiceId + ":" + version;
+        ReportJob[] created = new ReportJob[1];
+
+        // Sin IO dentro del compute (corre en el event loop y bloquea la entrada del mapa):
+        // la existencia del archivo se lleva en el estado del trabajo
+        ReportJob job = byContent.compute(key, (k, current) -> {
+            // Un trabajo fallido o cuyo archivo ya no existe se vuelve a ejecutar
+            if (current != null && current.getStatus() != ReportJobStatus.FAILED
+                    && (current.getStatus() != ReportJobStatus.DONE || current.isFileAvailable())) {
+                return current;
+            }
+            created[0] = new ReportJob(UUID.randomUUID().toString(), invoiceId, version);
+            return created[0];
+        });
+
+        if (created[0] != null) {
+            jobs.put(job.getId(), job);
+            run(job, runner.apply(job));
+        }
+        return job;
+    }
+
+    public Optional<ReportJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    // Se escribe en un archivo temporal y se mueve al terminar: nunca se descarga un PDF a medias
+    private void run(ReportJob job, Flux<DataBuffer> pdf) {
+        Path target = directory.resolve(job.getId() + ".pdf");
+        Path partial = directory.resolve(job.getId() + ".part");
+
+        DataBufferUtils.write(pdf.doOnSubscribe(s -> job.start()).doOnNext(buffer -> job.progress(buffer.readableByteCount())), partial)
+                .then(Mono.fromCallable(() -> Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .subscribe(
+                        path -> job.complete(path),
+                        e -> {
+                            log.warn("Report job {} for invoice {} failed: {}", job.getId(), job.getInvoiceId(),
+                                    e.getMessage());
+                            deleteQuietly(partial);
+                            job.fail(e.getMessage());
+                        });
+    }
+
+    // Limpieza periódica (boundedElastic): elimina los trabajos vencidos y marca los
+    // trabajos cuyo PDF ya no está en disco (ej: lo borró una limpieza de /tmp)
+    void removeExpired() {
+        Instant limit = Instant.now().minus(ttl);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getFinishedAt().isAfter(limit)) {
+                if (job.isFileAvailable() && !Files.exists(job.getFile())) {
+                    job.discardFile();
+                }
+                return false;
+            }
+            job.discardFile();
+            byContent.remove(job.getInvoiceId() + ":" + job.getVersion(), job);
+            if (job.getFile() != null) {
+                deleteQuietly(job.getFile());
+            }
+            return true;
+        });
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.reactor.reactor.reports;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.reactor.reactor.exceptions.RetryLaterException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * Pool dedicado y acotado para el llenado/exportación de reportes (trabajo
+ * bloqueante y pesado en CPU), separado del boundedElastic que comparten las
+ * demás tareas bloqueantes.
+ * - concurrency: cantidad máxima de reportes renderizándose a la vez
+ * - queue-capacity: reportes que pueden esperar turno; si la cola está llena se
+ * rechaza de inmediato con 503 + Retry-After (load shedding)
+ * Métricas: reports.render.queued, reports.render.active, reports.render.rejected,
+ * reports.render.time
+ */
+@Component
+public class ReportRenderExecutor implements DisposableBean {
+
+    private final Scheduler scheduler;
+    private final int queueCapacity;
+    private final Duration retryAfter;
+
+    private final AtomicInteger queued = new AtomicInteger(); // Esperando un hilo del pool
+    private final AtomicInteger active = new AtomicInteger(); // Renderizándose ahora
+
+    private final Counter rejected;
+    private final Timer renderTime;
+
+    public ReportRenderExecutor(@Value("${app.reports.render.concurrency:4}") int concurrency,
+            @Value("${app.reports.render.queue-capacity:16}") int queueCapacity,
+            @Value("${app.reports.render.retry-after-seconds:5}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        // Un solo pool para toda la aplicación (antes se creaba un newSingle por solicitud)
+        this.scheduler = Schedulers.newBoundedElastic(concurrency, queueCapacity, "report-render");
+        this.queueCapacity = queueCapacity;
+        this.retryAfter = Duration.ofSeconds(retryAfterSeconds);
+
+        Gauge.builder("reports.render.queued", queued, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("reports.render.active", active, AtomicInteger::get).register(meterRegistry);
+        this.rejected = Counter.builder("reports.render.rejected").register(meterRegistry);
+        this.renderTime = Timer.builder("reports.render.time").register(meterRegistry);
+    }
+
+    // true si una nueva solicitud sería rechazada (para fallar antes de consultar Mongo)
+    public boolean isSaturated() {
+        return queued.get() >= queueCapacity;
+    }
+
+    public RetryLaterException busy() {
+        rejected.increment();
+        return new RetryLaterException(HttpStatus.SERVICE_UNAVAILABLE, "Report rendering is saturated", retryAfter);
+    }
+
+    /*
+     * Ejecuta la tarea bloqueante en el pool de reportes.
+     * La admisión se decide al suscribirse: si ya hay queue-capacity tareas
+     * esperando, falla de inmediato en vez de encolar.
+     */
+    public <T> Mono<T> render(Callable<T> task) {
+        return Mono.defer(() -> {
+            if (!enqueue()) {
+                return Mono.error(busy());
+            }
+
+            // Marca si la tarea ya salió de la cola (para descontarla una sola vez)
+            AtomicBoolean dequeued = new AtomicBoolean(false);
+
+            return Mono.fromCallable(() -> {
+                dequeue(dequeued);
+                active.incrementAndGet();
+                try {
+                    return renderTime.recordCallable(task);
+                } finally {
+                    active.decrementAndGet();
+                }
+            })
+                    .subscribeOn(scheduler)
+                    // El scheduler también es acotado: si rechaza la tarea se responde igual que la cola llena
+                    .onErrorMap(RejectedExecutionException.class, e -> busy())
+                    // Cancelada o rechazada antes de ejecutarse: sale de la cola
+                    .doFinally(signal -> dequeue(dequeued));
+        });
+    }
+
+    /*
+     * Igual que render(), para tareas que escriben en un OutputStream (ej: la
+     * exportación del PDF). Lo escrito se emite como DataBuffers de chunkSize
+     * con backpressure: si el cliente lee lento, la tarea espera en su hilo del
+     * pool (ese tiempo también cuenta en reports.render.time).
+     */
+    public Flux<DataBuffer> stream(Consumer<OutputStream> task, DataBufferFactory bufferFactory, int chunkSize) {
+        return Flux.defer(() -> {
+            if (!enqueue()) {
+                return Flux.error(busy());
+            }
+
+            AtomicBoolean dequeued = new AtomicBoolean(false);
+
+            return Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+                dequeue(dequeued);
+                active.incrementAndGet();
+                try {
+                    renderTime.record(() -> task.accept(out));
+                } finally {
+                    active.decrementAndGet();
+                }
+            }, bufferFactory, Runnable::run, chunkSize))
+                    // La suscripción (y con ella la escritura) ocurre en el pool de reportes.
+                    // Los request no pasan por ese hilo, que está ocupado escribiendo
+                    .subscribeOn(scheduler, false)
+                    .onErrorMap(RejectedExecutionException.class, e -> busy())
+                    .doFinally(signal -> dequeue(dequeued));
+        });
+    }
+
+    // Entra a la cola si hay lugar
+    private boolean enqueue() {
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void dequeue(AtomicBoolean dequeued) {
+        if (dequeued.compareAndSet(false, true)) {
+            queued.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.reactor.reactor.reports;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+
+/*
+ * Registro de plantillas de JasperReports ya compiladas.
+ * Compilar un jrxml cuesta mucho más que llenarlo, por eso cada plantilla se
+ * compila una sola vez (al iniciar la aplicación) y se reutiliza en cada reporte.
+ * Si existe un "<nombre>.jasper" precompilado en el classpath se carga ese.
+ * Con app.reports.hot-reload=true (desarrollo) se recompila cuando cambia el jrxml
+ * (si el jrxml es más nuevo que el .jasper, se compila el jrxml y se conserva).
+ */
+@Component
+public class ReportTemplateRegistry implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportTemplateRegistry.class);
+
+    public static final String INVOICE_TEMPLATE = "facturas";
+
+    // Plantillas que se compilan al iniciar
+    private static final List<String> PRELOADED = List.of(INVOICE_TEMPLATE);
+
+    @Value("${app.reports.hot-reload:false}")
+    private boolean hotReload;
+
+    // nombre -> plantilla compilada vigente (con su versión)
+    private final Map<String, ReportTemplate> templates = new ConcurrentHashMap<>();
+
+    /*
+     * Plantilla compilada + versión (hash del archivo fuente), la versión permite
+     * invalidar lo que se haya generado con una versión anterior. lastModified es
+     * la fecha más reciente entre el .jasper y el jrxml al momento de cargarla.
+     */
+    public record ReportTemplate(String name, String version, JasperReport report, long lastModified) {
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        PRELOADED.forEach(this::get);
+    }
+
+    public ReportTemplate get(String name) {
+        ReportTemplate template = templates.get(name);
+        if (template != null && !(hotReload && isModified(template))) {
+            return template;
+        }
+        // compute: si llegan varias solicitudes a la vez se compila una sola vez
+        return templates.compute(name, (key, current) -> current != null && !(hotReload && isModified(current))
+                ? current
+                : load(key));
+    }
+
+    private ReportTemplate load(String name) {
+        ClassPathResource compiled = new ClassPathResource(name + ".jasper");
+        ClassPathResource jrxml = new ClassPathResource(name + ".jrxml");
+        // En hot reload un jrxml editado después del .jasper tiene prioridad
+        boolean useCompiled = compiled.exists()
+                && !(hotReload && jrxml.exists() && lastModified(jrxml) > lastModified(compiled));
+        ClassPathResource source = useCompiled ? compiled : jrxml;
+
+        long start = System.currentTimeMillis();
+        try (InputStream stream = source.getInputStream()) {
+            byte[] content = stream.readAllBytes();
+            JasperReport report = useCompiled
+                    ? (JasperReport) JRLoader.loadObject(new ByteArrayInputStream(content))
+                    : JasperCompileManager.compileReport(new ByteArrayInputStream(content));
+
+            ReportTemplate template = new ReportTemplate(name, ContentVersion.of(content), report,
+                    lastModified(name));
+            log.info("Report template {} v{} loaded from {} in {}ms", name, template.version(),
+                    source.getFilename(), System.currentTimeMillis() - start);
+            return template;
+        } catch (IOException | JRException e) {
+            throw new IllegalStateException("Unable to load report template " + name, e);
+        }
+    }
+
+    // Cambió alguno de los dos archivos desde que se cargó la plantilla
+    private boolean isModified(ReportTemplate template) {
+        return lastModified(template.name()) > template.lastModified();
+    }
+
+    // Fecha más reciente entre el .jasper y el jrxml (0 si no existen o están en un jar)
+    private long lastModified(String name) {
+        return List.of(new ClassPathResource(name + ".jasper"), new ClassPathResource(name + ".jrxml")).stream()
+                .filter(ClassPathResource::exists)
+                .mapToLong(this::lastModified)
+                .max()
+                .orElse(0);
+    }
+
+    private long lastModified(ClassPathResource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0; // Dentro de un jar no hay fecha de modificación (no aplica hot reload)
+        }
+    }
+
+}
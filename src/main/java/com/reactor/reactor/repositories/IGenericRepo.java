@@ -1,9 +1,49 @@
 package com.reactor.reactor.repositories;
 
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import com.reactor.reactor.batches.BatchResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 @NoRepositoryBean
-public interface IGenericRepo<T, ID> extends ReactiveMongoRepository<T, ID> {
+public interface IGenericRepo<T, ID extends Serializable> extends ReactiveMongoRepository<T, ID> {
+
+    // Consulta derivada: Mongo aplica sort/skip/limit del Pageable, sin traer toda
+    // la colección a memoria
+    Flux<T> findAllBy(Pageable pageable);
+
+    // Keyset: elementos con _id mayor al último entregado (usa el índice de _id)
+    Flux<T> findByIdGreaterThan(ID id, Pageable pageable);
+
+    // Implementado en GenericRepoImpl: total aproximado desde la metadata de la colección
+    Mono<Long> estimatedCount();
+
+    // Implementado en GenericRepoImpl: reemplaza el documento solo si existe (una operación atómica).
+    // Si la entidad tiene @Version y viene informada, se valida y se incrementa.
+    Mono<T> replaceIfExists(ID id, T entity);
+
+    // Implementado en GenericRepoImpl: como replaceIfExists, pero retorna el documento anterior
+    // (misma operación atómica, sirve como "pre-image" de la escritura)
+    Mono<T> findAndReplaceById(ID id, T entity);
+
+    // Implementado en GenericRepoImpl: elimina y retorna la cantidad de documentos eliminados
+    Mono<Long> removeById(ID id);
+
+    // Implementado en GenericRepoImpl: elimina y retorna el documento eliminado (vacío si no existía)
+    Mono<T> findAndRemoveById(ID id);
+
+    // Implementados en GenericRepoImpl: operaciones masivas con bulkWrite, en chunks de chunkSize
+    Mono<BatchResult> bulkInsert(List<T> entities, int chunkSize, boolean ordered);
+
+    Mono<BatchResult> bulkReplace(List<T> entities, int chunkSize, boolean ordered);
+
+    Mono<BatchResult> bulkRemove(List<ID> ids, int chunkSize, boolean ordered);
 
-}
\ No newline at end of file
+}
@@ -2,6 +2,11 @@ package com.reactor.reactor.repositories;
 
 import com.reactor.reactor.models.Invoice;
 
+import reactor.core.publisher.Flux;
+
 public interface IInvoiceRepo extends IGenericRepo<Invoice, String> {
 
+    // Facturas de un cliente (client._id)
+    Flux<Invoice> findByClientId(String clientId);
+
 }
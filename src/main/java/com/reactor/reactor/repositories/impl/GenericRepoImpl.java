@@ -0,0 +1,412 @@
+package com.reactor.reactor.repositories.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
+import org.springframework.data.mongodb.repository.support.SimpleReactiveMongoRepository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.reactor.reactor.batches.BatchItemResult;
+import com.reactor.reactor.batches.BatchResult;
+import com.reactor.reactor.batches.BatchStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Clase base de todos los repositorios (registrada en MongoConfig).
+ * Implementa las operaciones genéricas declaradas en IGenericRepo que no se
+ * pueden expresar como consultas derivadas, usando directamente ReactiveMongoOperations.
+ */
+public class GenericRepoImpl<T, ID extends Serializable> extends SimpleReactiveMongoRepository<T, ID> {
+
+    private final MongoEntityInformation<T, ID> entityInformation;
+    private final ReactiveMongoOperations mongoOperations;
+
+    public GenericRepoImpl(MongoEntityInformation<T, ID> entityInformation, ReactiveMongoOperations mongoOperations) {
+        super(entityInformation, mongoOperations);
+        this.entityInformation = entityInformation;
+        this.mongoOperations = mongoOperations;
+    }
+
+    // Conteo a partir de la metadata de la colección (estimatedDocumentCount), sin
+    // recorrer los documentos
+    public Mono<Long> estimatedCount() {
+        return mongoOperations.estimatedCount(entityInformation.getCollectionName());
+    }
+
+    /*
+     * Reemplaza el documento solo si existe, en un único round trip.
+     * - Sin @Version: findAndReplace (retorna vacío si no existe).
+     * - Con @Version: findAndModify con $set/$unset de todos los campos + $inc de
+     * la versión. Si la entidad trae versión, se agrega al filtro; si no coincide
+     * se lanza OptimisticLockingFailureException (solo en ese caso se consulta si
+     * el documento existe, para distinguirlo de un 404).
+     */
+    public Mono<T> replaceIfExists(ID id, T entity) {
+        return replace(id, entity, true);
+    }
+
+    /*
+     * Igual que replaceIfExists, pero retorna el documento anterior (returnNew =
+     * false) de la misma operación atómica. La entidad recibida queda con el id y
+     * la versión que se guardaron.
+     */
+    public Mono<T> findAndReplaceById(ID id, T entity) {
+        return replace(id, entity, false);
+    }
+
+    private Mono<T> replace(ID id, T entity, boolean returnNew) {
+        MongoPersistentEntity<?> persistentEntity = getPersistentEntity();
+        PersistentPropertyAccessor<T> accessor = persistentEntity.getPropertyAccessor(entity);
+        accessor.setProperty(persistentEntity.getRequiredIdProperty(), id); // El id de la ruta manda
+
+        Query query = Query.query(Criteria.where("_id").is(id));
+
+        if (!persistentEntity.hasVersionProperty()) {
+            FindAndReplaceOptions options = FindAndReplaceOptions.options();
+            return mongoOperations.findAndReplace(query, entity, returnNew ? options.returnNew() : options,
+                    entityInformation.getJavaType(), entityInformation.getCollectionName());
+        }
+
+        MongoPersistentProperty versionProperty = persistentEntity.getRequiredVersionProperty();
+        Object expectedVersion = accessor.getProperty(versionProperty);
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where(versionProperty.getFieldName()).is(expectedVersion));
+        }
+
+        return mongoOperations.findAndModify(query, toReplaceUpdate(persistentEntity, entity),
+                FindAndModifyOptions.options().returnNew(returnNew),
+                entityInformation.getJavaType(), entityInformation.getCollectionName())
+                .doOnNext(result -> {
+                    if (!returnNew) {
+                        // El $inc ya se aplicó en Mongo: la entidad refleja la versión guardada
+                        Object previous = persistentEntity.getPropertyAccessor(result).getProperty(versionProperty);
+                        accessor.setProperty(versionProperty, mongoOperations.getConverter().getConversionService()
+                                .convert(previous == null ? 1L : ((Number) previous).longValue() + 1,
+                                        versionProperty.getType()));
+                    }
+                })
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.empty()
+                        : existsById(id).flatMap(exists -> exists
+                                ? Mono.error(new OptimisticLockingFailureException(
+                                        "Version " + expectedVersion + " of " + id + " is outdated"))
+                                : Mono.empty())));
+    }
+
+    // Elimina en un único round trip y retorna la cantidad de documentos eliminados
+    public Mono<Long> removeById(ID id) {
+        return mongoOperations.remove(Query.query(Criteria.where("_id").is(id)),
+                entityInformation.getJavaType(), entityInformation.getCollectionName())
+                .map(DeleteResult::getDeletedCount);
+    }
+
+    // Elimina en un único round trip (findAndRemove) y retorna el documento eliminado
+    public Mono<T> findAndRemoveById(ID id) {
+        return mongoOperations.findAndRemove(Query.query(Criteria.where("_id").is(id)),
+                entityInformation.getJavaType(), entityInformation.getCollectionName());
+    }
+
+    /*
+     * Operaciones masivas: la lista se divide en chunks de chunkSize y cada chunk
+     * es un único bulkWrite en Mongo. En modo ordenado el primer error de escritura
+     * detiene el resto (los elementos siguientes quedan SKIPPED); en modo no
+     * ordenado Mongo intenta todos los elementos. Un update/delete que no coincide
+     * con ningún documento no es un error para Mongo: se informa como NOT_FOUND o
+     * CONFLICT en el elemento, pero no detiene el modo ordenado.
+     */
+    public Mono<BatchResult> bulkInsert(List<T> entities, int chunkSize, boolean ordered) {
+        MongoPersistentEntity<?> persistentEntity = getPersistentEntity();
+        // Los ids se asignan antes para poder informarlos en el resultado de cada elemento
+        List<String> ids = entities.stream().map(entity -> prepareInsert(persistentEntity, entity)).toList();
+
+        return executeInChunks(entities, ids, chunkSize, ordered,
+                (chunk, offset, chunkIds) -> executeBulk(ordered, offset, chunkIds, chunk, ReactiveBulkOperations::insert));
+    }
+
+    public Mono<BatchResult> bulkReplace(List<T> entities, int chunkSize, boolean ordered) {
+        MongoPersistentEntity<?> persistentEntity = getPersistentEntity();
+        List<String> ids = entities.stream()
+                .map(entity -> String.valueOf(persistentEntity.getIdentifierAccessor(entity).getIdentifier()))
+                .toList();
+
+        return executeInChunks(entities, ids, chunkSize, ordered, (chunk, offset, chunkIds) -> executeBulk(ordered,
+                offset, chunkIds, chunk, (bulk, elements) -> elements.forEach(entity -> {
+                    Object id = persistentEntity.getIdentifierAccessor(entity).getRequiredIdentifier();
+                    Query query = Query.query(Criteria.where("_id").is(id));
+
+                    if (persistentEntity.hasVersionProperty()) {
+                        // Misma semántica que replaceIfExists: versión opcional en el filtro + $inc
+                        Object expectedVersion = versionOf(persistentEntity, entity);
+                        if (expectedVersion != null) {
+                            query.addCriteria(Criteria.where(versionField(persistentEntity)).is(expectedVersion));
+                        }
+                        bulk.updateOne(query, toReplaceUpdate(persistentEntity, entity));
+                    } else {
+                        bulk.replaceOne(query, entity);
+                    }
+                }))
+                // Solo si Mongo coincidió con menos documentos que los ejecutados se
+                // consulta cuáles faltaron (en el caso normal no hay lectura extra)
+                .flatMap(result -> result.getMatched() < countOk(result)
+                        ? resolveUnmatched(persistentEntity, chunk, result)
+                        : Mono.just(result)));
+    }
+
+    public Mono<BatchResult> bulkRemove(List<ID> ids, int chunkSize, boolean ordered) {
+        MongoPersistentEntity<?> persistentEntity = getPersistentEntity();
+
+        // Después del delete no se puede saber qué ids no existían: se consultan
+        // los ids existentes del chunk antes de eliminar (solo el índice de _id)
+        return executeInChunks(ids, ids.stream().map(String::valueOf).toList(), chunkSize, ordered,
+                (chunk, offset, chunkIds) -> findVersions(persistentEntity, chunk)
+                        .flatMap(existing -> executeBulk(ordered, offset, chunkIds, chunk,
+                                (bulk, elements) -> elements
+                                        .forEach(id -> bulk.remove(Query.query(Criteria.where("_id").is(id)))))
+                                .doOnNext(result -> result.getItems().forEach(item -> {
+                                    if (item.getStatus() == BatchStatus.OK && !existing.containsKey(item.getId())) {
+                                        item.setStatus(BatchStatus.NOT_FOUND);
+                                    }
+                                }))));
+    }
+
+    // Ejecuta un chunk y retorna su resultado (chunk, posición del primer elemento, ids del chunk)
+    @FunctionalInterface
+    private interface ChunkWriter<E> {
+        Mono<BatchResult> write(List<E> chunk, int offset, List<String> ids);
+    }
+
+    private <E> Mono<BatchResult> executeInChunks(List<E> elements, List<String> ids, int chunkSize, boolean ordered,
+            ChunkWriter<E> writer) {
+        AtomicBoolean stopped = new AtomicBoolean(false); // Modo ordenado: hubo un error en un chunk anterior
+        int chunks = (elements.size() + chunkSize - 1) / chunkSize;
+
+        return Flux.range(0, chunks)
+                .concatMap(chunk -> { // Un chunk a la vez: nunca hay más de un bulkWrite en curso
+                    int from = chunk * chunkSize;
+                    int to = Math.min(from + chunkSize, elements.size());
+                    List<String> chunkIds = ids.subList(from, to);
+
+                    if (stopped.get()) {
+                        return Mono.just(toBatchResult(ordered, from, chunkIds, index -> BatchStatus.SKIPPED, null));
+                    }
+
+                    return writer.write(elements.subList(from, to), from, chunkIds)
+                            .doOnNext(result -> {
+                                if (ordered && result.getItems().stream()
+                                        .anyMatch(item -> item.getStatus() == BatchStatus.FAILED)) {
+                                    stopped.set(true);
+                                }
+                            });
+                })
+                .reduce(new BatchResult(ordered, 0, 0, 0, 0, new ArrayList<>()), BatchResult::merge);
+    }
+
+    private <E> Mono<BatchResult> executeBulk(boolean ordered, int offset, List<String> ids, List<E> chunk,
+            BiConsumer<ReactiveBulkOperations, List<E>> operations) {
+        ReactiveBulkOperations bulk = mongoOperations.bulkOps(
+                ordered ? BulkMode.ORDERED : BulkMode.UNORDERED,
+                entityInformation.getJavaType(), entityInformation.getCollectionName());
+        operations.accept(bulk, chunk);
+
+        return bulk.execute()
+                .map(result -> toBatchResult(ordered, offset, ids, index -> BatchStatus.OK, result))
+                .onErrorResume(e -> Mono.just(toBatchResult(ordered, offset, ids, e)));
+    }
+
+    /*
+     * Resuelve qué reemplazos no coincidieron con ningún documento: el id no existe
+     * (NOT_FOUND) o la versión enviada ya no es la actual (CONFLICT). Un reemplazo
+     * aplicado deja la versión en expected + 1; si otro proceso escribe el mismo
+     * documento entre el bulkWrite y esta consulta el elemento puede quedar
+     * clasificado con el estado de esa otra escritura.
+     */
+    private Mono<BatchResult> resolveUnmatched(MongoPersistentEntity<?> persistentEntity, List<T> chunk,
+            BatchResult result) {
+        List<Object> ids = chunk.stream()
+                .map(entity -> persistentEntity.getIdentifierAccessor(entity).getRequiredIdentifier())
+                .toList();
+
+        return findVersions(persistentEntity, ids).map(versions -> {
+            for (int i = 0; i < chunk.size(); i++) {
+                BatchItemResult item = result.getItems().get(i);
+                if (item.getStatus() != BatchStatus.OK) {
+                    continue; // FAILED o SKIPPED: no llegó a aplicarse
+                }
+                if (!versions.containsKey(item.getId())) {
+                    item.setStatus(BatchStatus.NOT_FOUND);
+                    continue;
+                }
+                Object expectedVersion = persistentEntity.hasVersionProperty()
+                        ? versionOf(persistentEntity, chunk.get(i))
+                        : null;
+                Object currentVersion = versions.get(item.getId()).orElse(null);
+                if (expectedVersion != null && !(currentVersion instanceof Number current
+                        && current.longValue() == ((Number) expectedVersion).longValue() + 1)) {
+                    item.setStatus(BatchStatus.CONFLICT);
+                }
+            }
+            return result;
+        });
+    }
+
+    // Consulta _id (y versión, si la entidad la tiene) de los documentos existentes
+    // entre los ids dados. Retorna id -> versión (vacía si la entidad no tiene @Version)
+    private Mono<Map<String, Optional<Object>>> findVersions(MongoPersistentEntity<?> persistentEntity, List<?> ids) {
+        MongoPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        List<Object> documentIds = ids.stream()
+                .map(id -> mongoOperations.getConverter().convertId(id, idProperty.getFieldType()))
+                .toList();
+
+        Query query = Query.query(Criteria.where("_id").in(documentIds));
+        query.fields().include("_id");
+        if (persistentEntity.hasVersionProperty()) {
+            query.fields().include(versionField(persistentEntity));
+        }
+
+        return mongoOperations.find(query, Document.class, entityInformation.getCollectionName())
+                .collectMap(document -> String.valueOf(document.get("_id")),
+                        document -> persistentEntity.hasVersionProperty()
+                                ? Optional.ofNullable(document.get(versionField(persistentEntity)))
+                                : Optional.empty());
+    }
+
+    private static long countOk(BatchResult result) {
+        return result.getItems().stream().filter(item -> item.getStatus() == BatchStatus.OK).count();
+    }
+
+    private Object versionOf(MongoPersistentEntity<?> persistentEntity, T entity) {
+        return persistentEntity.getPropertyAccessor(entity).getProperty(persistentEntity.getRequiredVersionProperty());
+    }
+
+    private static String versionField(MongoPersistentEntity<?> persistentEntity) {
+        return persistentEntity.getRequiredVersionProperty().getFieldName();
+    }
+
+    private BatchResult toBatchResult(boolean ordered, int offset, List<String> ids,
+            IntFunction<BatchStatus> status, BulkWriteResult result) {
+        List<BatchItemResult> items = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            items.add(new BatchItemResult(offset + i, ids.get(i), status.apply(i), null));
+        }
+
+        if (result == null || !result.wasAcknowledged()) {
+            return new BatchResult(ordered, 0, 0, 0, 0, items);
+        }
+        return new BatchResult(ordered, result.getInsertedCount(), result.getMatchedCount(),
+                result.getModifiedCount(), result.getDeletedCount(), items);
+    }
+
+    // Traduce el error de un bulkWrite al resultado por elemento
+    private BatchResult toBatchResult(boolean ordered, int offset, List<String> ids, Throwable error) {
+        List<BulkWriteError> writeErrors = null;
+        BulkWriteResult result = null;
+
+        if (error instanceof BulkOperationException bulkException) {
+            writeErrors = bulkException.getErrors();
+            result = bulkException.getResult();
+        } else {
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause instanceof MongoBulkWriteException bulkWriteException) {
+                    writeErrors = bulkWriteException.getWriteErrors();
+                    result = bulkWriteException.getWriteResult();
+                    break;
+                }
+            }
+        }
+
+        // Error que no es de escritura (ej: red): todo el chunk falla
+        if (writeErrors == null) {
+            BatchResult failed = toBatchResult(ordered, offset, ids, index -> BatchStatus.FAILED, null);
+            failed.getItems().forEach(item -> item.setError(error.getMessage()));
+            return failed;
+        }
+
+        Map<Integer, String> errors = new HashMap<>();
+        writeErrors.forEach(writeError -> errors.putIfAbsent(writeError.getIndex(), writeError.getMessage()));
+        int firstError = errors.keySet().stream().min(Integer::compare).orElse(ids.size());
+
+        BatchResult batchResult = toBatchResult(ordered, offset, ids, index -> {
+            if (errors.containsKey(index)) {
+                return BatchStatus.FAILED;
+            }
+            // En modo ordenado Mongo no ejecuta nada después del primer error
+            return ordered && index > firstError ? BatchStatus.SKIPPED : BatchStatus.OK;
+        }, result);
+        batchResult.getItems().forEach(item -> item.setError(errors.get(item.getIndex() - offset)));
+        return batchResult;
+    }
+
+    // Asigna id (y versión inicial) a los documentos nuevos, igual que lo haría save()
+    private String prepareInsert(MongoPersistentEntity<?> persistentEntity, T entity) {
+        PersistentPropertyAccessor<T> accessor = persistentEntity.getPropertyAccessor(entity);
+        MongoPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+
+        if (accessor.getProperty(idProperty) == null) {
+            ObjectId id = new ObjectId();
+            accessor.setProperty(idProperty, idProperty.getType() == String.class ? id.toHexString() : id);
+        }
+        if (persistentEntity.hasVersionProperty()
+                && accessor.getProperty(persistentEntity.getRequiredVersionProperty()) == null) {
+            accessor.setProperty(persistentEntity.getRequiredVersionProperty(), 0L);
+        }
+        return String.valueOf(accessor.getProperty(idProperty));
+    }
+
+    private MongoPersistentEntity<?> getPersistentEntity() {
+        return mongoOperations.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(entityInformation.getJavaType());
+    }
+
+    // Construye un update equivalente a reemplazar el documento completo
+    private Update toReplaceUpdate(MongoPersistentEntity<?> persistentEntity, T entity) {
+        Document document = new Document();
+        mongoOperations.getConverter().write(entity, document);
+
+        String versionField = persistentEntity.getRequiredVersionProperty().getFieldName();
+        document.remove("_id");
+        document.remove(versionField);
+
+        Update update = new Update();
+        document.forEach(update::set);
+
+        // Los campos nulos no se escriben: se eliminan igual que en un reemplazo
+        persistentEntity.doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+            if (!property.isIdProperty() && !property.isVersionProperty()
+                    && !document.containsKey(property.getFieldName())) {
+                update.unset(property.getFieldName());
+            }
+        });
+
+        return update.inc(versionField, 1);
+    }
+
+}
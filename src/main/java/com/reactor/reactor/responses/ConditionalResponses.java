@@ -0,0 +1,66 @@
+package com.reactor.reactor.responses;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactor.reactor.reports.ContentVersion;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+ * GET condicional de un recurso (findById de cada controlador):
+ * - ETag fuerte: la versión del documento (@Version, cambia en cada escritura) o, si
+ * el documento no tiene versión, un hash del JSON
+ * - 304 Not Modified sin cuerpo si el cliente envía ese ETag en If-None-Match
+ * - Cache-Control por ruta: app.http.cache-control.<ruta> (por defecto "no-cache":
+ * el cliente guarda la respuesta pero la revalida en cada uso)
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponses {
+
+    private static final String DEFAULT_CACHE_CONTROL = "no-cache";
+
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    private final Map<String, String> cacheControls = new ConcurrentHashMap<>();
+
+    public <T> ResponseEntity<T> ok(ServerWebExchange exchange, String route, T body, Object version) {
+        String eTag = "\"" + (version != null ? "v" + version : contentVersion(body)) + "\"";
+        String cacheControl = cacheControls.computeIfAbsent(route,
+                key -> environment.getProperty("app.http.cache-control." + key, DEFAULT_CACHE_CONTROL));
+
+        if (exchange.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private String contentVersion(Object body) {
+        try {
+            return ContentVersion.of(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not compute the ETag", e);
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.reactor.reactor.responses;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import com.reactor.reactor.reports.ContentVersion;
+
+/*
+ * Cuerpo JSON ya serializado, en texto plano y comprimido con gzip, con su ETag
+ * (uno por codificación: son representaciones distintas del mismo recurso).
+ * Se arma una vez y se reutiliza en cada respuesta mientras el contenido no cambie.
+ */
+public record EncodedJson(byte[] json, byte[] gzip, String eTag, String gzipETag) {
+
+    public static EncodedJson of(byte[] json) {
+        String version = ContentVersion.of(json);
+        return new EncodedJson(json, gzip(json), "\"" + version + "\"", "\"" + version + "-gzip\"");
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.reactor.reactor.responses;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
+
+// Respuestas con un EncodedJson: sin pasar por Jackson ni comprimir en cada solicitud
+public final class JsonResponses {
+
+    private JsonResponses() {
+    }
+
+    /*
+     * 200 con el JSON (gzip si el cliente lo acepta) o 304 si el cliente ya tiene esa
+     * versión (If-None-Match). El DataBuffer envuelve el arreglo guardado, sin copiarlo.
+     */
+    public static ResponseEntity<DataBuffer> ok(EncodedJson json, ServerWebExchange exchange) {
+        boolean gzip = acceptsGzip(exchange.getRequest().getHeaders());
+        String eTag = gzip ? json.gzipETag() : json.eTag();
+
+        if (exchange.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        byte[] body = gzip ? json.gzip() : json.json();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(exchange.getResponse().bufferFactory().wrap(body));
+    }
+
+    // Accept-Encoding: gzip, deflate, br;q=0.9 (gzip;q=0 lo rechaza explícitamente).
+    // Una entrada "gzip" tiene prioridad sobre "*": ej. "gzip;q=0, *" no acepta gzip
+    static boolean acceptsGzip(HttpHeaders headers) {
+        Boolean gzip = null;
+        Boolean wildcard = null;
+        for (String value : headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                if (name.equalsIgnoreCase("gzip")) {
+                    gzip = (gzip != null && gzip) || accepted(parts);
+                } else if (name.equals("*")) {
+                    wildcard = (wildcard != null && wildcard) || accepted(parts);
+                }
+            }
+        }
+        if (gzip != null) {
+            return gzip;
+        }
+        return wildcard != null && wildcard;
+    }
+
+    // false si la entrada trae q=0 (o un q inválido)
+    private static boolean accepted(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+}
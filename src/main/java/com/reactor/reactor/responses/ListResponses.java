@@ -0,0 +1,41 @@
+package com.reactor.reactor.responses;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Respuestas para endpoints que devuelven listas (Flux).
+ * Antes se hacía fx.hasElements() y luego se devolvía el mismo fx como body:
+ * con un Flux frío eso ejecuta la consulta a Mongo 2 veces.
+ */
+public final class ListResponses {
+
+    private ListResponses() {
+    }
+
+    /*
+     * 200 con el Flux como body, o 404 si no tiene elementos, con una sola
+     * suscripción: se espera el primer elemento y el body lo vuelve a emitir
+     * junto con el resto de la misma consulta (switchOnFirst).
+     * - cancelSourceOnComplete = false: la consulta sigue abierta hasta que
+     * WebFlux se suscribe al body para escribirlo
+     */
+    public static <T> Mono<ResponseEntity<Flux<T>>> okOrNotFound(Flux<T> fx) {
+        return fx.switchOnFirst((first, all) -> {
+            if (first.hasValue()) {
+                return Mono.just(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(all));
+            }
+            if (first.hasError()) {
+                return Mono.error(first.getThrowable());
+            }
+            return Mono.just(ResponseEntity.notFound().<Flux<T>>build());
+        }, false)
+                .singleOrEmpty();
+    }
+
+}
@@ -1,15 +1,18 @@
 package com.reactor.reactor.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
+import java.util.Date;
 import java.util.List;
 
 //Clase 5
@@ -19,21 +22,47 @@ public class AuthenticationManager implements ReactiveAuthenticationManager {
 
     private final JwtUtil jwtUtil;
 
+    private final VerifiedTokenCache tokenCache;
+
     @Override
     public Mono<Authentication> authenticate(Authentication authentication) {
         String token = authentication.getCredentials().toString();
-        String user = jwtUtil.getUsernameFromToken(token);
 
-        if (user != null && jwtUtil.validateToken(token)) {
-            Claims claims = jwtUtil.getAllClaimsFromToken(token);
-            List<String> roles = claims.get("roles", List.class);
+        // Token ya verificado y vigente: no se vuelve a parsear ni a verificar la firma
+        VerifiedTokenCache.VerifiedToken verified = tokenCache.get(token);
+        if (verified == null) {
+            verified = verify(token);
+            if (verified == null) {
+                return Mono.error(new BadCredentialsException("Invalid token"));
+            }
+            tokenCache.put(token, verified);
+        }
+
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(verified.username(), null,
+                verified.authorities());
+
+        return Mono.just(auth);
+    }
 
-            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null,
-                    roles.stream().map(SimpleGrantedAuthority::new).toList());
+    // Un solo parseo (firma + claims) por token; null si es inválido o está vencido
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims;
+        try {
+            claims = jwtUtil.getAllClaimsFromToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
 
-            return Mono.just(auth);
-        } else {
-            return Mono.error(new BadCredentialsException("Invalid token"));
+        String user = claims.getSubject();
+        Date expiration = claims.getExpiration();
+        if (user == null || expiration == null || expiration.before(new Date())) {
+            return null;
         }
+
+        List<String> roles = claims.get("roles", List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of()
+                : roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+
+        return new VerifiedTokenCache.VerifiedToken(user, authorities, expiration.getTime());
     }
 }
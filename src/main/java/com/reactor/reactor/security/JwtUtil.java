@@ -7,10 +7,12 @@ import java.util.Map;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -19,7 +21,7 @@ import io.jsonwebtoken.security.Keys;
  * Esta clase se encarga de generar, leer y validar tokens de JWT.
  */
 @Component
-public class JwtUtil implements Serializable {
+public class JwtUtil implements Serializable, InitializingBean {
 
     // Duración del token: 5 horas (en milisegundos)
     public final long JWT_TOKEN_VALIDITY = 5 * 60 * 60 * 1000;
@@ -28,6 +30,18 @@ public class JwtUtil implements Serializable {
     @Value("${jjwt.secret}")
     private String secret;
 
+    // Clave y parser inmutables y thread-safe: se construyen una sola vez
+    private transient SecretKey key;
+    private transient JwtParser parser;
+
+    @Override
+    public void afterPropertiesSet() {
+        // Se genera una clave de firma a partir del secreto configurado.
+        this.key = Keys.hmacShaKeyFor(this.secret.getBytes());
+        // Parser con la clave secreta para verificar la firma del token
+        this.parser = Jwts.parser().verifyWith(key).build();
+    }
+
     /*
      * Generar un token JWT a partir de un objeto User.
      * Objeto que contiene la información del usuario autenticado.
@@ -49,9 +63,6 @@ public class JwtUtil implements Serializable {
      * Retornar: El token JWT firmado y listo para ser enviado al cliente.
      */
     private String doGenerateToken(Map<String, Object> claims, String username) {
-        // Se genera una clave de firma a partir del secreto configurado.
-        SecretKey key = Keys.hmacShaKeyFor(this.secret.getBytes());
-
         // Se construye el token
         return Jwts.builder()
                 .claims(claims) // Datos adicionales asociados al payload
@@ -70,12 +81,8 @@ public class JwtUtil implements Serializable {
      * Retorna un Claims con los datos internos del token.
      */
     public Claims getAllClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(this.secret.getBytes());
-
-        // Se construye el parser con la clave secreta para verificar la firma del token
-        return Jwts.parser()
-                .verifyWith(key) // Verificar la firma
-                .build()
+        // Verifica la firma con el parser ya construido
+        return parser
                 .parseSignedClaims(token) // Parsea el token y valida su estructura
                 .getPayload(); // Retornar el cuerpo (payload) con los datos
     }
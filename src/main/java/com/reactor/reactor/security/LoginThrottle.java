@@ -0,0 +1,143 @@
+package com.reactor.reactor.security;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import com.reactor.reactor.exceptions.RetryLaterException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Límite de intentos de login por usuario y por IP en ventanas fijas de
+ * "window" (ej: 10 por usuario y 50 por IP cada minuto). Se revisa antes de
+ * buscar al usuario y verificar la contraseña, así una ráfaga abusiva se
+ * rechaza con 429 + Retry-After sin gastar CPU en BCrypt.
+ * Un login exitoso reinicia el contador del usuario.
+ * El contador por usuario es solo por usuario (no usuario + IP) a propósito:
+ * así un ataque distribuido desde muchas IPs contra una cuenta sigue limitado.
+ * La contracara es que una ráfaga ajena puede bloquear a un usuario legítimo
+ * hasta que termine la ventana (a lo sumo "window", sin bloqueo permanente).
+ * Memoria acotada aun con muchos usuarios distintos (credential stuffing):
+ * - Las ventanas terminadas se descartan a lo sumo una vez por ventana
+ * - Cada mapa tiene un máximo de max-tracked entradas; si se llena con ventanas
+ * vigentes se descarta un 10% (el límite por IP sigue aplicando a esos usuarios)
+ * El usuario se normaliza (trim + minúsculas): "Admin" y "admin" comparten límite.
+ */
+@Component
+public class LoginThrottle {
+
+    private final int maxPerUser;
+    private final int maxPerIp;
+    private final long windowMillis;
+    private final int maxTracked;
+
+    // Momento a partir del cual corresponde descartar las ventanas terminadas
+    private final AtomicLong nextSweep = new AtomicLong();
+
+    private final Map<String, Window> users = new ConcurrentHashMap<>();
+    private final Map<String, Window> ips = new ConcurrentHashMap<>();
+
+    private final Counter rejected;
+
+    // Intentos dentro de la ventana que empezó en "start"
+    private record Window(long start, int attempts) {
+    }
+
+    public LoginThrottle(@Value("${app.security.login.max-attempts-per-user:10}") int maxPerUser,
+            @Value("${app.security.login.max-attempts-per-ip:50}") int maxPerIp,
+            @Value("${app.security.login.window:PT1M}") Duration window,
+            @Value("${app.security.login.max-tracked:100000}") int maxTracked,
+            MeterRegistry meterRegistry) {
+        this.maxPerUser = maxPerUser;
+        this.maxPerIp = maxPerIp;
+        this.windowMillis = window.toMillis();
+        this.maxTracked = Math.max(1, maxTracked);
+        this.rejected = Counter.builder("login.throttled").register(meterRegistry);
+    }
+
+    // Registra un intento; lanza RetryLaterException (429) si se superó algún límite
+    public void acquire(String username, String ip) {
+        long now = System.currentTimeMillis();
+        sweepExpired(now);
+        Window ipWindow = ip != null ? increment(ips, ip, now) : null;
+        Window userWindow = username != null ? increment(users, userKey(username), now) : null;
+
+        if (ipWindow != null && ipWindow.attempts() > maxPerIp) {
+            throw tooManyAttempts(ipWindow, now);
+        }
+        if (userWindow != null && userWindow.attempts() > maxPerUser) {
+            throw tooManyAttempts(userWindow, now);
+        }
+    }
+
+    // IP del cliente como clave: si la dirección no está resuelta (getAddress() es
+    // null) se usa el host tal como llegó
+    public static String clientIp(InetSocketAddress address) {
+        if (address == null) {
+            return null;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    public void reset(String username) {
+        if (username != null) {
+            users.remove(userKey(username));
+        }
+    }
+
+    // Cantidad de ventanas en memoria (usuarios + IPs)
+    public int size() {
+        return users.size() + ips.size();
+    }
+
+    private static String userKey(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Un solo hilo por ventana recorre los mapas; el resto de los intentos no paga el recorrido
+    private void sweepExpired(long now) {
+        long next = nextSweep.get();
+        if (now < next || !nextSweep.compareAndSet(next, now + windowMillis)) {
+            return;
+        }
+        users.values().removeIf(window -> now - window.start() >= windowMillis);
+        ips.values().removeIf(window -> now - window.start() >= windowMillis);
+    }
+
+    private Window increment(Map<String, Window> windows, String key, long now) {
+        if (windows.size() >= maxTracked && !windows.containsKey(key)) {
+            evict(windows);
+        }
+        return windows.compute(key, (k, window) -> window == null || now - window.start() >= windowMillis
+                ? new Window(now, 1)
+                : new Window(window.start(), window.attempts() + 1));
+    }
+
+    // Mapa lleno de ventanas vigentes: se descartan entradas cualesquiera hasta liberar un 10%
+    private void evict(Map<String, Window> windows) {
+        Iterator<String> keys = windows.keySet().iterator();
+        int target = maxTracked - Math.max(1, maxTracked / 10);
+        while (windows.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private RetryLaterException tooManyAttempts(Window window, long now) {
+        rejected.increment();
+        long remaining = Math.max(1, window.start() + windowMillis - now);
+        return new RetryLaterException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts",
+                Duration.ofMillis(remaining).plusSeconds(1).withNanos(0));
+    }
+
+}
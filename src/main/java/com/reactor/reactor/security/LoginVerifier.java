@@ -0,0 +1,101 @@
+package com.reactor.reactor.security;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
+
+import com.reactor.reactor.exceptions.RetryLaterException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * Verificación de contraseñas (BCrypt, ~100 ms de CPU cada una) en un pool
+ * dedicado y acotado, fuera del event loop de Netty.
+ * - concurrency: verificaciones simultáneas como máximo
+ * - queue-capacity: logins esperando turno; con la cola llena se responde 503
+ * + Retry-After sin gastar CPU
+ * Métricas: login.verify.queued, login.verify.queue-time, login.verify.time,
+ * login.verify.rejected
+ */
+@Component
+public class LoginVerifier implements DisposableBean {
+
+    private final Scheduler scheduler;
+    private final int queueCapacity;
+    private final Duration retryAfter;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Timer queueTime;
+    private final Timer verifyTime;
+    private final Counter rejected;
+
+    public LoginVerifier(@Value("${app.security.login.concurrency:4}") int concurrency,
+            @Value("${app.security.login.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.login.retry-after-seconds:2}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        this.scheduler = Schedulers.newBoundedElastic(concurrency, queueCapacity, "login-verify");
+        this.queueCapacity = queueCapacity;
+        this.retryAfter = Duration.ofSeconds(retryAfterSeconds);
+
+        Gauge.builder("login.verify.queued", queued, AtomicInteger::get).register(meterRegistry);
+        this.queueTime = Timer.builder("login.verify.queue-time").register(meterRegistry);
+        this.verifyTime = Timer.builder("login.verify.time").register(meterRegistry);
+        this.rejected = Counter.builder("login.verify.rejected").register(meterRegistry);
+    }
+
+    // true si la contraseña coincide con el hash; se ejecuta en el pool de login
+    public Mono<Boolean> matches(String password, String hash) {
+        return Mono.defer(() -> {
+            if (queued.incrementAndGet() > queueCapacity) {
+                queued.decrementAndGet();
+                return Mono.error(busy());
+            }
+
+            long enqueuedAt = System.nanoTime();
+            // Marca si la verificación ya salió de la cola (para descontarla una sola vez)
+            AtomicBoolean dequeued = new AtomicBoolean(false);
+
+            return Mono.fromCallable(() -> {
+                if (dequeued.compareAndSet(false, true)) {
+                    queued.decrementAndGet();
+                }
+                queueTime.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return verifyTime.record(() -> BCrypt.checkpw(password, hash));
+            })
+                    .subscribeOn(scheduler)
+                    .onErrorMap(RejectedExecutionException.class, e -> busy())
+                    .doFinally(signal -> {
+                        // Cancelada o rechazada antes de ejecutarse: sale de la cola
+                        if (dequeued.compareAndSet(false, true)) {
+                            queued.decrementAndGet();
+                        }
+                    });
+        });
+    }
+
+    private RetryLaterException busy() {
+        rejected.increment();
+        return new RetryLaterException(HttpStatus.SERVICE_UNAVAILABLE, "Too many logins in progress", retryAfter);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+}
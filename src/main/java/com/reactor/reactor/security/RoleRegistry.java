@@ -0,0 +1,129 @@
+package com.reactor.reactor.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+import com.reactor.reactor.models.Role;
+import com.reactor.reactor.repositories.IRoleRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Registro en memoria de los roles (id -> nombre). La colección es pequeña y
+ * casi estática, así el login no consulta "roles" por cada rol del usuario.
+ * - Se carga al iniciar y se reemplaza completo (snapshot inmutable) en cada refresco
+ * - Se refresca al guardar/eliminar un Role desde la aplicación, con un change
+ * stream de "roles" cuando Mongo lo soporta (replica set) y cada refresh-interval
+ * como respaldo
+ * - Un id que no está en el registro se busca en Mongo (miss)
+ * Métricas: roles.registry.hits, roles.registry.misses, roles.registry.refreshes,
+ * roles.registry.size
+ */
+@Component
+public class RoleRegistry extends AbstractMongoEventListener<Role> implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleRegistry.class);
+
+    private final IRoleRepo roleRepo;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Duration refreshInterval;
+
+    private volatile Map<String, String> names = Map.of();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refreshes;
+
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public RoleRegistry(IRoleRepo roleRepo, ReactiveMongoTemplate mongoTemplate,
+            @Value("${app.security.roles.refresh-interval:PT5M}") Duration refreshInterval,
+            MeterRegistry meterRegistry) {
+        this.roleRepo = roleRepo;
+        this.mongoTemplate = mongoTemplate;
+        this.refreshInterval = refreshInterval;
+
+        this.hits = Counter.builder("roles.registry.hits").register(meterRegistry);
+        this.misses = Counter.builder("roles.registry.misses").register(meterRegistry);
+        this.refreshes = Counter.builder("roles.registry.refreshes").register(meterRegistry);
+        Gauge.builder("roles.registry.size", this, registry -> registry.names.size()).register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        subscriptions.add(refresh().subscribe());
+
+        subscriptions.add(mongoTemplate.changeStream(mongoTemplate.getCollectionName(Role.class),
+                ChangeStreamOptions.empty(), Document.class)
+                .concatMap(event -> refresh())
+                .subscribe(null, e -> log.info("Role change stream not available ({}), refreshing every {}",
+                        e.getMessage(), refreshInterval)));
+
+        subscriptions.add(Flux.interval(refreshInterval, refreshInterval)
+                .concatMap(tick -> refresh())
+                .subscribe());
+    }
+
+    @Override
+    public void destroy() {
+        subscriptions.dispose();
+    }
+
+    // Nombre del rol; sin consulta a Mongo si el id está en el registro
+    public Mono<String> findName(String id) {
+        String name = names.get(id);
+        if (name != null) {
+            hits.increment();
+            return Mono.just(name);
+        }
+        misses.increment();
+        return roleRepo.findById(id).map(Role::getName);
+    }
+
+    // Recarga toda la colección y reemplaza el snapshot
+    public Mono<Void> refresh() {
+        return roleRepo.findAll()
+                .filter(role -> role.getName() != null)
+                .collect(Collectors.toUnmodifiableMap(Role::getId, Role::getName))
+                .doOnNext(loaded -> {
+                    names = loaded;
+                    refreshes.increment();
+                })
+                .onErrorResume(e -> {
+                    log.warn("Could not refresh roles: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Role> event) {
+        refresh().subscribe();
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Role> event) {
+        refresh().subscribe();
+    }
+
+}
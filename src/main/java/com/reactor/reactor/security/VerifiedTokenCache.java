@@ -0,0 +1,87 @@
+package com.reactor.reactor.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/*
+ * Caché de tokens JWT ya verificados: cada solicitud con un token conocido se
+ * autentica sin volver a parsear ni verificar la firma HMAC.
+ * - La llave es el SHA-256 del token (no se guarda el token en memoria)
+ * - Cada entrada vence con el "exp" del token
+ * - Acotada a max-size entradas; las lecturas no bloquean (ConcurrentHashMap)
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    // Usuario y roles ya listos para construir el Authentication
+    public record VerifiedToken(String username, List<GrantedAuthority> authorities, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+
+    public VerifiedTokenCache(@Value("${app.security.token-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public VerifiedToken get(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = entries.get(digest);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.isExpired(System.currentTimeMillis())) {
+            entries.remove(digest, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(digest(token), verified);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Primero los vencidos; si no alcanza, se descartan entradas cualesquiera hasta liberar un 10%
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(verified -> verified.isExpired(now));
+
+        Iterator<String> keys = entries.keySet().iterator();
+        int target = maxSize - Math.max(1, maxSize / 10);
+        while (entries.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 siempre está disponible
+        }
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.reactor.reactor.services;
 
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 
+import com.reactor.reactor.batches.BatchResult;
+import com.reactor.reactor.paginations.CursorPage;
 import com.reactor.reactor.paginations.PageSupport;
 
 import reactor.core.publisher.Flux;
@@ -22,4 +26,13 @@ public interface ICRUD<T, ID> {
 
     Mono<PageSupport<T>> getPage(Pageable pageable);
 
+    Mono<CursorPage<T>> getCursorPage(String cursor, int size);
+
+    // Operaciones masivas (bulkWrite) con resultado por elemento
+    Mono<BatchResult> saveAll(List<T> list, boolean ordered);
+
+    Mono<BatchResult> updateAll(List<T> list, boolean ordered);
+
+    Mono<BatchResult> deleteAll(List<ID> ids, boolean ordered);
+
 }
@@ -1,8 +1,14 @@
 package com.reactor.reactor.services;
 
 import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.responses.EncodedJson;
+
+import reactor.core.publisher.Mono;
 
 // La definición de tus casos de uso
 public interface IDishService extends ICRUD<Dish, String> {
 
+    // Lista de platos (DishDTO) ya serializada; vacío si no hay platos
+    Mono<EncodedJson> findAllJson();
+
 }
@@ -1,11 +1,32 @@
 package com.reactor.reactor.services;
 
+import java.util.List;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+
 import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.reports.InvoiceReport;
+import com.reactor.reactor.reports.ReportJob;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface IInvoiceService extends ICRUD<Invoice, String> {
 
-    Mono<byte[]> generateReport(String invoice);
+    // Lee la factura, su cliente y sus platos una sola vez. La versión (ETag) cambia si
+    // cambia la factura, el cliente, alguno de los platos o la plantilla
+    Mono<InvoiceReport> prepareReport(String invoice);
+
+    // PDF transmitido en bloques (DataBuffers del bufferFactory de la respuesta)
+    Flux<DataBuffer> generateReport(InvoiceReport report, DataBufferFactory bufferFactory);
+
+    // Trabajo asíncrono: retorna de inmediato el trabajo (compartido si ya hay uno para la factura)
+    Mono<ReportJob> submitReportJob(String invoice);
+
+    Mono<ReportJob> findReportJob(String jobId);
+
+    // ZIP con los PDFs de las facturas indicadas (ids) o de todas las facturas de un cliente
+    Flux<DataBuffer> generateReportZip(List<String> ids, String clientId, DataBufferFactory bufferFactory);
 
 }
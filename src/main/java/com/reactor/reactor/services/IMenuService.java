@@ -1,10 +1,16 @@
 package com.reactor.reactor.services;
 
+import java.util.Collection;
+
 import com.reactor.reactor.models.Menu;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 public interface IMenuService extends ICRUD<Menu, String> {
 
     Flux<Menu> getMenus(String[] roles);
+
+    // Menús de un conjunto de roles ya serializados a JSON (cacheados hasta la próxima escritura)
+    Mono<byte[]> getMenusJson(Collection<String> roles);
 }
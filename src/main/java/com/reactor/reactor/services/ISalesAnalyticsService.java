@@ -0,0 +1,19 @@
+package com.reactor.reactor.services;
+
+import java.time.LocalDate;
+
+import com.reactor.reactor.dtos.ClientSalesDTO;
+import com.reactor.reactor.dtos.DishSalesDTO;
+
+import reactor.core.publisher.Flux;
+
+// Reportes de ventas calculados en Mongo (pipelines de agregación) sobre la colección de facturas
+public interface ISalesAnalyticsService {
+
+    // Ventas por plato, ordenadas por ingreso (o por unidades con byQuantity = los más vendidos)
+    Flux<DishSalesDTO> salesByDish(LocalDate from, LocalDate to, String clientId, boolean byQuantity, int limit);
+
+    // Ventas por cliente, ordenadas por ingreso
+    Flux<ClientSalesDTO> salesByClient(LocalDate from, LocalDate to, int limit);
+
+}
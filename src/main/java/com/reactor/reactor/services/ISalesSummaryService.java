@@ -0,0 +1,26 @@
+package com.reactor.reactor.services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.SalesSummary;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Resumen de ventas materializado (colección sales_summary)
+public interface ISalesSummaryService {
+
+    // Descuenta las facturas "removed" y suma las "added" (update = ambas)
+    Mono<Void> record(List<Invoice> removed, List<Invoice> added);
+
+    // Recalcula todo el resumen desde la colección de facturas
+    Mono<Long> rebuild();
+
+    // Resumen de un día ordenado por "quantity" o "revenue" (una consulta por índice)
+    Flux<SalesSummary> top(SalesSummary.Type type, LocalDate day, String sort, int limit);
+
+    Mono<SalesSummary> find(SalesSummary.Type type, String key, LocalDate day);
+
+}
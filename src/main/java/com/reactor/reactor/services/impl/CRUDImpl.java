@@ -1,7 +1,24 @@
 package com.reactor.reactor.services.impl;
 
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.reactor.reactor.batches.BatchResult;
+import com.reactor.reactor.paginations.CountMode;
+import com.reactor.reactor.paginations.CursorCodec;
+import com.reactor.reactor.paginations.CursorPage;
+import com.reactor.reactor.paginations.ElementCount;
 import com.reactor.reactor.paginations.PageSupport;
 import com.reactor.reactor.repositories.IGenericRepo;
 import com.reactor.reactor.services.ICRUD;
@@ -9,18 +26,45 @@ import com.reactor.reactor.services.ICRUD;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public abstract class CRUDImpl<T, ID> implements ICRUD<T, ID> {
+public abstract class CRUDImpl<T, ID extends Serializable> implements ICRUD<T, ID> {
+
+    // Cantidad de documentos por cada bulkWrite en las operaciones masivas
+    @Value("${app.batch.chunk-size:1000}")
+    private int batchChunkSize = 1000;
+
+    // Tamaño máximo de una página por cursor: los valores mayores se recortan
+    @Value("${app.pagination.cursor.max-size:100}")
+    private int cursorMaxSize = 100;
+
+    // Total en caché para CountMode.CACHED (null = sin valor vigente)
+    private final AtomicReference<CachedCount> cachedCount = new AtomicReference<>();
+
+    // Generación de invalidación: aumenta en cada escritura que cambia la cantidad.
+    // Un total solo es vigente si se calculó en la generación actual
+    private final AtomicLong countGeneration = new AtomicLong();
 
     protected abstract IGenericRepo<T, ID> getRepo();
 
+    // Cada servicio puede elegir cómo se calcula el totalElements de sus páginas
+    protected CountMode getCountMode() {
+        return CountMode.EXACT;
+    }
+
+    // Tiempo de vida del total en caché (solo aplica a CountMode.CACHED)
+    protected Duration getCountTtl() {
+        return Duration.ofSeconds(30);
+    }
+
     @Override
     public Mono<T> save(T t) {
-        return getRepo().save(t);
+        return getRepo().save(t)
+                .doOnSuccess(e -> invalidateCount()); // Puede haber un elemento nuevo
     }
 
     @Override
     public Mono<T> update(ID id, T t) {
-        return getRepo().findById(id).flatMap(e -> getRepo().save(t));
+        // Una sola operación en Mongo: vacío si el documento no existe
+        return getRepo().replaceIfExists(id, t);
     }
 
     @Override
@@ -35,39 +79,132 @@ public abstract class CRUDImpl<T, ID> implements ICRUD<T, ID> {
 
     @Override
     public Mono<Boolean> delete(ID id) {
-        return getRepo().findById(id)
-                .hasElement()
-                .flatMap(result -> {
-                    if (result) {
-                        return getRepo().deleteById(id).thenReturn(true);
-                    } else {
-                        return Mono.just(false);
+        // Una sola operación en Mongo: DeleteResult.getDeletedCount() indica si existía
+        return getRepo().removeById(id)
+                .map(deletedCount -> deletedCount > 0)
+                .doOnNext(deleted -> {
+                    if (deleted) {
+                        invalidateCount();
                     }
                 });
     }
 
     @Override
     public Mono<PageSupport<T>> getPage(Pageable pageable) {
-        return getRepo().findAll() // Obtenemos todos los elementos del Flux<T>
-                .collectList() // Convertimos el Flux en una lista completa (Mono<List<T>>)
-                .map(list -> new PageSupport<>( // Mapea la lista completa a un objeto PageSupport
-                        // Ej de list: [1,2,3,4,5,6,7,8,9,10]
-                        // Suponiendo: pageNumber = 0, pageSize = 2
-                        list.stream()
-                                // Salta los elementos anteriores a la página solicitada
-                                // skip(0 * 2) = skip(0), no se salta nada para la primera página
-                                .skip(pageable.getPageNumber() * pageable.getPageSize())
-                                // Limita la cantidad de elementos al tamaño de la página (pageSize)
-                                // limit (2), toma 2 elementos
-                                .limit(pageable.getPageSize())
-                                // Convierte el stream de elementos paginas a una lista
-                                .toList(),
-                        // Número de página actual (por ej: 0)
-                        pageable.getPageNumber(),
-                        // Tamaño de página solicitado (por ej: 2)
-                        pageable.getPageSize(),
-                        // Total de elementos encontrados (por ej: 10)
-                        list.size()));
+        // Si no viene un orden, ordenamos por _id para que las páginas sean estables
+        // entre llamadas (Mongo no garantiza el orden natural)
+        Pageable sortedPageable = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
+
+        // Ej: pageNumber = 0, pageSize = 2 -> Mongo ejecuta find().sort({_id: 1}).skip(0).limit(2)
+        // El count se ejecuta como una consulta concurrente y se combinan ambos resultados
+        return Mono.zip(
+                getRepo().findAllBy(sortedPageable).collectList(), // Solo los elementos de la página
+                countElements(), // Total de elementos según el CountMode (por ej: 10)
+                (content, count) -> new PageSupport<>(
+                        content,
+                        pageable.getPageNumber(), // Número de página actual (por ej: 0)
+                        pageable.getPageSize(), // Tamaño de página solicitado (por ej: 2)
+                        count.total(),
+                        count.approximate()));
+    }
+
+    private Mono<ElementCount> countElements() {
+        return switch (getCountMode()) {
+            case EXACT -> getRepo().count().map(total -> new ElementCount(total, false));
+            case ESTIMATED -> getRepo().estimatedCount().map(total -> new ElementCount(total, true));
+            case CACHED -> Mono.defer(() -> {
+                // La generación se lee antes del count: si una escritura termina mientras
+                // el count está en curso, ese total puede no incluirla y no se guarda
+                long generation = countGeneration.get();
+                CachedCount cached = cachedCount.get();
+                if (cached != null && cached.generation() == generation
+                        && cached.expiresAt() > System.currentTimeMillis()) {
+                    return Mono.just(new ElementCount(cached.total(), true));
+                }
+                // Sin valor vigente: count exacto y se guarda hasta que expire o haya una escritura
+                return getRepo().count()
+                        .doOnNext(total -> {
+                            if (countGeneration.get() == generation) {
+                                cachedCount.set(new CachedCount(total,
+                                        System.currentTimeMillis() + getCountTtl().toMillis(), generation));
+                            }
+                        })
+                        .map(total -> new ElementCount(total, false));
+            });
+        };
+    }
+
+    // Se llama en cada escritura que cambia la cantidad de elementos
+    protected void invalidateCount() {
+        countGeneration.incrementAndGet();
+        cachedCount.set(null);
+    }
+
+    // generation: countGeneration al momento de iniciar el count (un valor guardado
+    // justo después de una invalidación queda con la generación anterior y se ignora)
+    private record CachedCount(long total, long expiresAt, long generation) {
+    }
+
+    @Override
+    public Mono<BatchResult> saveAll(List<T> list, boolean ordered) {
+        // Se invalida también si falla: los chunks anteriores ya se escribieron
+        return getRepo().bulkInsert(list, chunkSize(), ordered)
+                .doFinally(signal -> invalidateCount());
+    }
+
+    @Override
+    public Mono<BatchResult> updateAll(List<T> list, boolean ordered) {
+        // Para actualizar en bloque cada elemento debe traer su id
+        if (list.stream().anyMatch(t -> idOf(t) == null)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every element must have an id"));
+        }
+        return getRepo().bulkReplace(list, chunkSize(), ordered);
+    }
+
+    @Override
+    public Mono<BatchResult> deleteAll(List<ID> ids, boolean ordered) {
+        return getRepo().bulkRemove(ids, chunkSize(), ordered)
+                .doFinally(signal -> invalidateCount());
+    }
+
+    private int chunkSize() {
+        return Math.max(1, batchChunkSize);
+    }
+
+    @Override
+    public Mono<CursorPage<T>> getCursorPage(String cursor, int requestedSize) {
+        if (requestedSize < 1) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be at least 1"));
+        }
+        int size = Math.min(requestedSize, Math.max(1, cursorMaxSize));
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        Pageable pageable = PageRequest.of(0, size + 1, Sort.by("id"));
+
+        // Sin cursor es la primera página; con cursor se continúa desde el último _id
+        Flux<T> fx = (cursor == null || cursor.isBlank())
+                ? getRepo().findAllBy(pageable)
+                : getRepo().findByIdGreaterThan(decodeId(cursor), pageable);
+
+        return fx.collectList()
+                .map(list -> {
+                    boolean hasNext = list.size() > size;
+                    List<T> content = hasNext ? list.subList(0, size) : list;
+                    String next = hasNext ? CursorCodec.encode(idOf(content.get(content.size() - 1))) : null;
+                    return new CursorPage<>(content, size, next);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private ID decodeId(String cursor) {
+        // Todos los documentos del proyecto usan ids String (ObjectId en Mongo)
+        return (ID) CursorCodec.decode(cursor);
+    }
+
+    private Object idOf(T t) {
+        return PropertyAccessorFactory.forBeanPropertyAccess(t).getPropertyValue("id");
     }
 
 }
@@ -3,6 +3,7 @@ package com.reactor.reactor.services.impl;
 import org.springframework.stereotype.Service;
 
 import com.reactor.reactor.models.Client;
+import com.reactor.reactor.paginations.CountMode;
 import com.reactor.reactor.repositories.IClientRepo;
 import com.reactor.reactor.repositories.IGenericRepo;
 import com.reactor.reactor.services.IClientService;
@@ -20,4 +21,10 @@ public class ClientServiceImpl extends CRUDImpl<Client, String> implements IClie
         return repo;
     }
 
+    // El total de clientes cambia poco: se reutiliza el count durante el TTL
+    @Override
+    protected CountMode getCountMode() {
+        return CountMode.CACHED;
+    }
+
 }
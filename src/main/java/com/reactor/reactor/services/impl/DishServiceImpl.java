@@ -1,23 +1,131 @@
 package com.reactor.reactor.services.impl;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactor.reactor.batches.BatchResult;
+import com.reactor.reactor.catalog.DishCatalog;
+import com.reactor.reactor.mappers.DishDtoMapper;
 import com.reactor.reactor.models.Dish;
 import com.reactor.reactor.repositories.IDishRepo;
 import com.reactor.reactor.repositories.IGenericRepo;
+import com.reactor.reactor.responses.EncodedJson;
 import com.reactor.reactor.services.IDishService;
 
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @Service
 @RequiredArgsConstructor
 public class DishServiceImpl extends CRUDImpl<Dish, String> implements IDishService {
 
+    private static final String FIND_ALL = "findAll";
+
     private final IDishRepo repo;
+    private final DishCatalog catalog;
+    private final DishDtoMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    /*
+     * Respuestas ya serializadas por endpoint, junto con la versión del catálogo con la
+     * que se armaron: si el snapshot cambió (escritura, change stream o refresco) se
+     * vuelven a armar. Las escrituras de este servicio además limpian la caché.
+     */
+    private final Map<String, CachedJson> json = new ConcurrentHashMap<>();
+
+    private record CachedJson(long version, Mono<EncodedJson> body) {
+    }
 
     @Override
     protected IGenericRepo<Dish, String> getRepo() {
         return repo;
     }
 
+    // Lecturas desde el catálogo en memoria: sin consultas a Mongo una vez cargado
+    @Override
+    public Flux<Dish> findAll() {
+        return catalog.findAll();
+    }
+
+    @Override
+    public Mono<Dish> findById(String id) {
+        return catalog.findById(id);
+    }
+
+    @Override
+    public Mono<EncodedJson> findAllJson() {
+        long version = catalog.version();
+        if (version < 0) {
+            // Catálogo aún no cargado: se lee de Mongo y no se guarda
+            return encodeAll();
+        }
+        // Mono.cache(): solicitudes simultáneas comparten una sola serialización
+        CachedJson entry = json.compute(FIND_ALL, (key, current) -> current != null && current.version() >= version
+                ? current
+                : new CachedJson(version, encodeAll().cache()));
+        // Un error no queda en caché
+        return entry.body().doOnError(e -> json.remove(FIND_ALL, entry));
+    }
+
+    private Mono<EncodedJson> encodeAll() {
+        return catalog.findAll()
+                .map(mapper::toDto)
+                .collectList()
+                .filter(list -> !list.isEmpty())
+                .map(list -> {
+                    try {
+                        return EncodedJson.of(objectMapper.writeValueAsBytes(list));
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Could not serialize dishes", e);
+                    }
+                });
+    }
+
+    // Cada escritura reemplaza el snapshot del catálogo antes de responder
+    @Override
+    public Mono<Dish> save(Dish dish) {
+        return super.save(dish).doOnNext(catalog::put).doOnSuccess(e -> json.clear());
+    }
+
+    @Override
+    public Mono<Dish> update(String id, Dish dish) {
+        return super.update(id, dish).doOnNext(catalog::put).doOnSuccess(e -> json.clear());
+    }
+
+    @Override
+    public Mono<Boolean> delete(String id) {
+        return super.delete(id)
+                .doOnNext(deleted -> {
+                    if (deleted) {
+                        catalog.remove(id);
+                    }
+                })
+                .doOnSuccess(e -> json.clear());
+    }
+
+    // Operaciones masivas: se recarga el catálogo completo
+    @Override
+    public Mono<BatchResult> saveAll(List<Dish> list, boolean ordered) {
+        return super.saveAll(list, ordered).flatMap(result -> catalog.refresh().thenReturn(result))
+                .doOnSuccess(e -> json.clear());
+    }
+
+    @Override
+    public Mono<BatchResult> updateAll(List<Dish> list, boolean ordered) {
+        return super.updateAll(list, ordered).flatMap(result -> catalog.refresh().thenReturn(result))
+                .doOnSuccess(e -> json.clear());
+    }
+
+    @Override
+    public Mono<BatchResult> deleteAll(List<String> ids, boolean ordered) {
+        return super.deleteAll(ids, ordered).flatMap(result -> catalog.refresh().thenReturn(result))
+                .doOnSuccess(e -> json.clear());
+    }
+
 }
@@ -1,44 +1,208 @@
 package com.reactor.reactor.services.impl;
 
-import java.io.InputStream;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.stereotype.Service;
 
+import com.reactor.reactor.batches.BatchResult;
+import com.reactor.reactor.batches.BatchStatus;
+import com.reactor.reactor.catalog.DishCatalog;
+import com.reactor.reactor.exceptions.RetryLaterException;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
 import com.reactor.reactor.models.Invoice;
 import com.reactor.reactor.models.InvoiceDetail;
+import com.reactor.reactor.paginations.CountMode;
+import com.reactor.reactor.reports.CappedCopyOutputStream;
+import com.reactor.reactor.reports.ContentVersion;
+import com.reactor.reactor.reports.InvoiceReport;
+import com.reactor.reactor.reports.ReactiveBeanDataSource;
+import com.reactor.reactor.reports.ReportCache;
+import com.reactor.reactor.reports.ReportJob;
+import com.reactor.reactor.reports.ReportJobStore;
+import com.reactor.reactor.reports.ReportRenderExecutor;
+import com.reactor.reactor.reports.ReportTemplateRegistry;
 import com.reactor.reactor.repositories.IClientRepo;
-import com.reactor.reactor.repositories.IDishRepo;
 import com.reactor.reactor.repositories.IGenericRepo;
 import com.reactor.reactor.repositories.IInvoiceRepo;
 import com.reactor.reactor.services.IInvoiceService;
+import com.reactor.reactor.services.ISalesSummaryService;
 
 import lombok.RequiredArgsConstructor;
-import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JRException;
 import net.sf.jasperreports.engine.JasperExportManager;
 import net.sf.jasperreports.engine.JasperFillManager;
 import net.sf.jasperreports.engine.JasperPrint;
 import net.sf.jasperreports.engine.JasperReport;
-import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
 @Service
 @RequiredArgsConstructor
 public class InvoiceServiceImpl extends CRUDImpl<Invoice, String> implements IInvoiceService {
 
+    private static final Logger log = LoggerFactory.getLogger(InvoiceServiceImpl.class);
+
     private final IInvoiceRepo invoiceRepo;
     private final IClientRepo clientRepo;
-    private final IDishRepo dishRepo;
+    private final DishCatalog dishCatalog;
+    private final ReportTemplateRegistry templates;
+    private final ReportRenderExecutor renderExecutor;
+    private final ReportCache reportCache;
+    private final ReportJobStore reportJobs;
+    private final ISalesSummaryService salesSummary;
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Value("${app.reports.simulated-latency:false}")
+    private boolean simulatedLatency;
+
+    // Cantidad de PDFs que se generan en paralelo en la exportación ZIP
+    @Value("${app.reports.zip.concurrency:4}")
+    private int zipConcurrency;
+
+    // Reintentos de un trabajo asíncrono mientras el pool de reportes esté saturado
+    @Value("${app.reports.jobs.max-retries:20}")
+    private int jobMaxRetries;
+
+    // Items que se leen de Mongo por adelantado (lote del cursor) mientras se llena el reporte
+    @Value("${app.reports.items.prefetch:256}")
+    private int itemsPrefetch;
+
+    // Tamaño de cada DataBuffer al transmitir un PDF
+    @Value("${app.reports.stream.chunk-size:8192}")
+    private int streamChunkSize;
+
+    // PDFs transmitidos de hasta este tamaño se guardan también en la caché
+    @Value("${app.reports.cache.max-entry-bytes:2097152}")
+    private int cacheMaxEntryBytes;
 
     @Override
     protected IGenericRepo<Invoice, String> getRepo() {
         return invoiceRepo;
     }
 
+    // Colección con millones de facturas: el total estimado es suficiente para paginar
+    @Override
+    protected CountMode getCountMode() {
+        return CountMode.ESTIMATED;
+    }
+
+    /*
+     * Las escrituras eliminan el PDF en caché de la factura y actualizan el
+     * resumen de ventas (sales_summary): se descuenta la versión anterior de la
+     * factura y se suma la nueva.
+     */
+    @Override
+    public Mono<Invoice> save(Invoice invoice) {
+        return super.save(invoice)
+                .flatMap(saved -> recordSales(List.of(), List.of(saved)).thenReturn(saved));
+    }
+
+    // La versión anterior de la factura la entrega la misma escritura (findAndReplace
+    // con returnNew = false): dos updates concurrentes nunca descuentan la misma versión
+    @Override
+    public Mono<Invoice> update(String id, Invoice invoice) {
+        return invoiceRepo.findAndReplaceById(id, invoice)
+                .flatMap(before -> recordSales(List.of(before), List.of(invoice)).thenReturn(invoice))
+                .doOnSuccess(e -> reportCache.evict(id));
+    }
+
+    @Override
+    public Mono<Boolean> delete(String id) {
+        return invoiceRepo.findAndRemoveById(id)
+                .doOnNext(before -> invalidateCount())
+                .flatMap(before -> recordSales(List.of(before), List.of()).thenReturn(true))
+                .defaultIfEmpty(false)
+                .doOnSuccess(e -> reportCache.evict(id));
+    }
+
+    @Override
+    public Mono<BatchResult> saveAll(List<Invoice> list, boolean ordered) {
+        return super.saveAll(list, ordered)
+                .flatMap(result -> recordSales(List.of(), succeeded(result, list)).thenReturn(result));
+    }
+
+    @Override
+    public Mono<BatchResult> updateAll(List<Invoice> list, boolean ordered) {
+        return findAllById(list.stream().map(Invoice::getId).toList())
+                .flatMap(before -> super.updateAll(list, ordered)
+                        .flatMap(result -> {
+                            // Solo las que existían: un replace sin coincidencia no cambia nada
+                            List<Invoice> updated = succeeded(result, list).stream()
+                                    .filter(invoice -> before.containsKey(invoice.getId()))
+                                    .toList();
+                            return recordSales(updated.stream().map(invoice -> before.get(invoice.getId())).toList(),
+                                    updated).thenReturn(result);
+                        }))
+                .doOnSuccess(e -> list.forEach(invoice -> reportCache.evict(invoice.getId())));
+    }
+
+    @Override
+    public Mono<BatchResult> deleteAll(List<String> ids, boolean ordered) {
+        return findAllById(ids)
+                .flatMap(before -> super.deleteAll(ids, ordered)
+                        .flatMap(result -> recordSales(succeeded(result, ids).stream()
+                                .map(before::get)
+                                .filter(Objects::nonNull)
+                                .toList(), List.of()).thenReturn(result)))
+                .doOnSuccess(e -> ids.forEach(reportCache::evict));
+    }
+
+    private Mono<Map<String, Invoice>> findAllById(List<String> ids) {
+        // Los ids nulos los rechaza updateAll (400)
+        return invoiceRepo.findAllById(ids.stream().filter(Objects::nonNull).toList()).collectMap(Invoice::getId);
+    }
+
+    // Elementos del lote que se escribieron correctamente
+    private static <E> List<E> succeeded(BatchResult result, List<E> list) {
+        return result.getItems().stream()
+                .filter(item -> item.getStatus() == BatchStatus.OK)
+                .map(item -> list.get(item.getIndex()))
+                .toList();
+    }
+
+    // Un error en el resumen no revierte la escritura: queda en el log y se corrige con el rebuild
+    private Mono<Void> recordSales(List<Invoice> removed, List<Invoice> added) {
+        return salesSummary.record(removed, added)
+                .onErrorResume(e -> {
+                    log.warn("Sales summary not updated: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
     private Mono<Invoice> populateClient(Invoice invoice) {
         return clientRepo.findById(invoice.getClient().getId())
                 // Una vez encontrado el cliente, lo asignamos a la factura
@@ -46,70 +210,301 @@ public class InvoiceServiceImpl extends CRUDImpl<Invoice, String> implements IIn
                     invoice.setClient(client);
                     return invoice; // Devolver la factura ya con el id
                 })
-                // Retrasar la subscripción de 2 seg. (simular una latencia o control de
-                // tiempos)
-                .delaySubscription(Duration.ofSeconds(2));
-    }
-
-    private Mono<Invoice> populateItems(Invoice invoice) {
-        // Por cada item de la factura, se busca el plato (Dish) en la bdd
-        List<Mono<InvoiceDetail>> list = invoice.getItems().stream()
-                .map(item -> dishRepo.findById(item.getDish().getId()) // Busco el plato por ID
-                        .map(dish -> {
-                            item.setDish(dish); // Vamos asignado el plato encontrado.
-                            return item;
-                        }))
-                .toList(); // Convierte el stream en una lista de Mon<InvoiceDetail>
-
-        // Esperar a que todo el flujo de la lista con los datos ya esté listo, recién
-        // conforma y devuelve
-        // ese invoice con el detalle.
-        return Mono.when(list).then(Mono.just(invoice))
-                // Retrasa la ejecución en 3 seg.
-                .delaySubscription(Duration.ofSeconds(3));
-    }
-
-    private byte[] generatePDF(Invoice invoice) {
-        try (InputStream stream = getClass().getResourceAsStream("/facturas.jrxml")) {
-            // Definimos los parámetros que se enviarán al reporte. Por ej: nombre del
-            // cliente
-            Map<String, Object> params = new HashMap<>();
-            params.put("txt_client", invoice.getClient().getFirstName() + " " + invoice.getClient().getLastName());
-
-            // Compilar el archivo jrxml (plantilla del reporte)
-            JasperReport report = JasperCompileManager.compileReport(stream);
-
-            // Llenar el reporte con los datos de los params + la lista de items
-            JasperPrint print = JasperFillManager.fillReport(report, params,
-                    new JRBeanCollectionDataSource(invoice.getItems()));
-
-            // Se deja exportable el reporte generado a un arreglo de bytes en formato PDF
-            return JasperExportManager.exportReportToPdf(print);
-        } catch (Exception e) {
-            // En caso de error, retorne un arreglo vacío de bytes
-            return new byte[0];
+                // Retrasar la subscripción de 2 seg. (solo con el perfil "latency")
+                .transform(mono -> withSimulatedLatency(mono, Duration.ofSeconds(2)));
+    }
+
+    // Platos de la factura, desde el catálogo en memoria (Mongo solo si aún no está cargado)
+    private Mono<Map<String, Dish>> findDishes(Collection<String> dishIds) {
+        return dishCatalog.findAllById(dishIds)
+                .collectMap(Dish::getId) // Mapa id -> plato para unirlos con los items
+                // Retrasa la ejecución en 3 seg. (solo con el perfil "latency")
+                .transform(mono -> withSimulatedLatency(mono, Duration.ofSeconds(3)));
+    }
+
+    /*
+     * Items de la factura leídos de Mongo a medida que el reporte los consume
+     * ($unwind: un documento por línea). El cursor trae lotes de itemsPrefetch
+     * líneas, así en memoria solo queda ese lote aunque la factura tenga decenas
+     * de miles de líneas. Se filtra por la versión leída en la cabecera: si la
+     * factura cambió desde entonces faltan líneas y el reporte falla en vez de
+     * mezclar dos versiones.
+     */
+    private Flux<InvoiceDetail> hydratedItems(InvoiceReport report) {
+        AtomicLong read = new AtomicLong();
+        return mongoTemplate.aggregate(itemsAggregation(report), invoiceCollection(), InvoiceDetail.class)
+                .doOnNext(item -> read.incrementAndGet())
+                .concatWith(Mono.defer(() -> read.get() == report.itemCount()
+                        ? Mono.empty()
+                        : Mono.error(new IllegalStateException(
+                                "Invoice " + report.invoiceId() + " changed while its report was generated"))))
+                // Se asigna el plato encontrado; si no existe se deja el que venía en el item
+                .map(item -> item.getDish() == null ? item
+                        : new InvoiceDetail(item.getQuantity(),
+                                report.dishes().getOrDefault(item.getDish().getId(), item.getDish())));
+    }
+
+    private Aggregation itemsAggregation(InvoiceReport report) {
+        return newAggregation(
+                stage("$match", new Document("_id", invoiceId(report.invoiceId()))
+                        .append("version", report.invoice().getVersion())),
+                stage("$unwind", "$items"),
+                stage("$match", new Document("items", new Document("$type", "object"))),
+                stage("$replaceRoot", new Document("newRoot", "$items")))
+                .withOptions(AggregationOptions.builder().cursorBatchSize(Math.max(1, itemsPrefetch)).build());
+    }
+
+    /*
+     * Cabecera de la factura sin sus items: descripción, cliente y versión, más la
+     * cantidad de líneas y los ids de los platos, calculados en Mongo.
+     */
+    private Mono<Document> findReportHeader(String idInvoice) {
+        Document items = new Document("$filter", new Document("input",
+                new Document("$ifNull", List.of("$items", List.of())))
+                .append("cond", new Document("$eq", List.of(new Document("$type", "$$this"), "object"))));
+
+        return mongoTemplate.aggregate(newAggregation(
+                stage("$match", new Document("_id", invoiceId(idInvoice))),
+                stage("$project", new Document("description", 1)
+                        .append("client", 1)
+                        .append("version", 1)
+                        .append("itemCount", new Document("$size", items))
+                        .append("dishIds", new Document("$setUnion", List.of(
+                                new Document("$ifNull", List.of("$items.dish._id", List.of())), List.of()))))),
+                invoiceCollection(), Document.class)
+                .next();
+    }
+
+    private String invoiceCollection() {
+        return mongoTemplate.getCollectionName(Invoice.class);
+    }
+
+    // Los ids se guardan como ObjectId (las etapas con Document no convierten el tipo)
+    private Object invoiceId(String idInvoice) {
+        return mongoTemplate.getConverter().convertId(idInvoice, ObjectId.class);
+    }
+
+    private static List<String> dishIds(Document header) {
+        return header.getList("dishIds", Object.class, List.of()).stream()
+                .map(id -> id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id))
+                .toList();
+    }
+
+    private static AggregationOperation stage(String operator, Object value) {
+        return context -> new Document(operator, value);
+    }
+
+    // Latencia artificial para simular consultas lentas (cliente y platos).
+    // Se activa con el perfil "latency" (application-latency.properties).
+    private <R> Mono<R> withSimulatedLatency(Mono<R> mono, Duration delay) {
+        return simulatedLatency ? mono.delaySubscription(delay) : mono;
+    }
+
+    private <R> Flux<R> withSimulatedLatency(Flux<R> flux, Duration delay) {
+        return simulatedLatency ? flux.delaySubscription(delay) : flux;
+    }
+
+    // Llenado del reporte (la parte pesada en CPU), se ejecuta en el pool de reportes
+    private JasperPrint fillReport(InvoiceReport report) throws JRException {
+        Invoice invoice = report.invoice();
+
+        // Definimos los parámetros que se enviarán al reporte. Por ej: nombre del
+        // cliente
+        Map<String, Object> params = new HashMap<>();
+        params.put("txt_client", invoice.getClient().getFirstName() + " " + invoice.getClient().getLastName());
+
+        // Plantilla ya compilada (se compila una sola vez en el registro)
+        JasperReport template = templates.get(ReportTemplateRegistry.INVOICE_TEMPLATE).report();
+
+        // Llenar el reporte con los datos de los params + los items, leídos del Flux a medida
+        // que se llenan
+        try (ReactiveBeanDataSource<InvoiceDetail> items = new ReactiveBeanDataSource<>(hydratedItems(report),
+                itemsPrefetch)) {
+            return JasperFillManager.fillReport(template, params, items);
         }
     }
 
-    // Generar un PDF a partir del Invoice generado.
+    // Se deja exportable el reporte generado a un arreglo de bytes en formato PDF.
+    // Un error se propaga: quien lo llama decide cómo informarlo
+    private byte[] generatePDF(InvoiceReport report) throws JRException {
+        return JasperExportManager.exportReportToPdf(fillReport(report));
+    }
+
+    /*
+     * Versión = versión de la factura (@Version) + versión del cliente y de cada
+     * plato referenciado + versión de la plantilla. El PDF muestra datos del
+     * cliente y de los platos: si cambia alguno, cambia el ETag y la llave de la caché.
+     * Una factura guardada antes de agregar @Version usa el hash de su cabecera
+     * (sin los items); su primera escritura le asigna versión.
+     */
+    private String reportVersion(Invoice invoice, Document header, Client client, Map<String, Dish> dishes) {
+        String dishVersions = new TreeMap<>(dishes).values().stream()
+                .map(dish -> dish.getId() + ":" + stateOf(dish.getVersion(), dish))
+                .collect(Collectors.joining(","));
+        return ContentVersion.of(stateOf(invoice.getVersion(), header.toJson()), stateOf(client.getVersion(), client),
+                dishVersions, templates.get(ReportTemplateRegistry.INVOICE_TEMPLATE).version());
+    }
+
+    // @Version del documento o, si no la tiene (guardado antes de agregar @Version), su contenido
+    private static String stateOf(Long version, Object entity) {
+        return version != null ? "v" + version : ContentVersion.of(String.valueOf(entity));
+    }
+
+    // Solo la cabecera: los items se leen de Mongo recién al llenar el reporte
+    @Override
+    public Mono<InvoiceReport> prepareReport(String idInvoice) {
+        return findReportHeader(idInvoice)
+                .flatMap(header -> {
+                    Invoice invoice = mongoTemplate.getConverter().read(Invoice.class, header);
+                    // Cliente y platos en paralelo
+                    return populateClient(invoice).zipWith(findDishes(dishIds(header)),
+                            (populated, dishes) -> new InvoiceReport(idInvoice,
+                                    reportVersion(populated, header, populated.getClient(), dishes), populated,
+                                    dishes, header.get("itemCount", Number.class).longValue()));
+                });
+    }
+
+    /*
+     * Generar un PDF a partir del Invoice, transmitido como DataBuffers a medida
+     * que el exportador lo escribe (sin armar el byte[] completo en heap).
+     * - El llenado y la exportación se hacen en el pool de reportes (acotado,
+     * con load shedding)
+     * - La exportación escribe en buffers del bufferFactory de la respuesta
+     * (pooled en Netty) con backpressure: si el cliente lee lento, el exportador
+     * espera en vez de acumular
+     * - Los PDFs de hasta cacheMaxEntryBytes se copian a la caché al terminar
+     */
+    @Override
+    public Flux<DataBuffer> generateReport(InvoiceReport report, DataBufferFactory bufferFactory) {
+        return Flux.defer(() -> {
+            byte[] cached = reportCache.get(report.invoiceId(), report.version());
+            if (cached != null) {
+                return Flux.just(bufferFactory.wrap(cached));
+            }
+
+            // Llenado y exportación en un mismo turno del pool de reportes
+            return renderExecutor.stream(out -> {
+                CappedCopyOutputStream pdf = new CappedCopyOutputStream(out, cacheMaxEntryBytes);
+                try {
+                    JasperExportManager.exportReportToPdfStream(fillReport(report), pdf);
+                } catch (JRException e) {
+                    throw new IllegalStateException("Invoice report export failed", e);
+                }
+                byte[] copy = pdf.toByteArray();
+                if (copy != null) {
+                    reportCache.put(report.invoiceId(), report.version(), copy);
+                }
+            }, bufferFactory, streamChunkSize);
+        });
+    }
+
+    /*
+     * El PDF se genera en segundo plano y se guarda en disco (ReportJobStore).
+     * Si el pool de reportes está saturado el trabajo espera y reintenta en vez
+     * de fallar, ya que nadie está esperando la respuesta HTTP.
+     */
     @Override
-    public Mono<byte[]> generateReport(String idInvoice) {
+    public Mono<ReportJob> submitReportJob(String idInvoice) {
+        return prepareReport(idInvoice)
+                .map(report -> reportJobs.submit(idInvoice, report.version(),
+                        job -> generateReport(report, DefaultDataBufferFactory.sharedInstance)
+                                .retryWhen(Retry.backoff(jobMaxRetries, Duration.ofSeconds(1))
+                                        .filter(RetryLaterException.class::isInstance))));
+    }
+
+    @Override
+    public Mono<ReportJob> findReportJob(String jobId) {
+        return Mono.justOrEmpty(reportJobs.find(jobId));
+    }
+
+    // PDF completo en memoria (exportación ZIP). Vacío si la factura no existe
+    private Mono<byte[]> renderReport(String idInvoice) {
         long startTime = System.currentTimeMillis(); // Marca inicial de ejecución
 
-        return invoiceRepo.findById(idInvoice) // Buscamos el invoice por ID
-                .subscribeOn(Schedulers.single()) // Ejecuta en un hilo único (single thread)
-                .publishOn(Schedulers.newSingle("th-data")) // Genera un nuevo hilo llamado
-                .flatMap(invoice -> Mono.zip( // operador reactivo para ejecutar 2
-                        populateClient(invoice), // Me devuelve el client poblado
-                        populateItems(invoice), // Poblamos los items
-                        (populateClient, populatedItems) -> populatedItems)) // Combinación de resultados
-                .publishOn(Schedulers.boundedElastic()) // Cambia a un pool elástico
-                .map(this::generatePDF) // Genera el PDF con el invoice final
-                .onErrorResume(e -> Mono.empty()) // Si ocurre un error, devolvemos el Mono vacío
-                .doOnSuccess(inv -> { // cuando el proceso termine correctamente
-                    long endTime = System.currentTimeMillis();
-                    System.out.println("Total time: " + (endTime - startTime) + "ms");
+        return prepareReport(idInvoice) // Factura, cliente y platos (una lectura de cada uno)
+                .flatMap(report -> {
+                    // Si ya se generó el PDF para esta misma versión del reporte, se reutiliza
+                    byte[] cached = reportCache.get(idInvoice, report.version());
+                    if (cached != null) {
+                        return Mono.just(cached);
+                    }
+
+                    // Llenado + exportación (bloqueante) en el pool dedicado y acotado de reportes
+                    return renderExecutor.render(() -> generatePDF(report))
+                            .doOnNext(pdf -> reportCache.put(idInvoice, report.version(), pdf));
+                })
+                .doOnNext(pdf -> log.debug("Invoice {} report ready in {} ms", idInvoice,
+                        System.currentTimeMillis() - startTime));
+    }
+
+    // Resultado de cada factura de la exportación ZIP: el PDF o el motivo por el que falta
+    private record ZipItem(String invoiceId, byte[] pdf, String error) {
+    }
+
+    /*
+     * Exportación masiva en un ZIP que se escribe en la respuesta a medida que
+     * cada PDF termina (no se arma un byte[] gigante).
+     * - Los PDFs se generan en paralelo con concurrencia acotada (zipConcurrency)
+     * - El ZIP se escribe en un hilo de boundedElastic que consume los PDFs de a
+     * uno (prefetch 1), así la memoria queda acotada a los PDFs en curso sin
+     * importar cuántas facturas se pidan
+     * - La respuesta ya empezó cuando falla una factura: en vez de cortar el ZIP,
+     * el error queda en el log y en una entrada errors.txt al final del ZIP
+     */
+    @Override
+    public Flux<DataBuffer> generateReportZip(List<String> ids, String clientId, DataBufferFactory bufferFactory) {
+        Flux<String> invoiceIds = (ids != null && !ids.isEmpty())
+                ? Flux.fromIterable(ids).distinct()
+                : invoiceRepo.findByClientId(clientId).map(Invoice::getId);
+
+        Flux<ZipItem> pdfs = invoiceIds
+                .flatMap(id -> renderReport(id)
+                        // Si el pool de reportes está saturado se espera y se reintenta
+                        .retryWhen(Retry.backoff(5, Duration.ofMillis(500))
+                                .filter(RetryLaterException.class::isInstance))
+                        .map(pdf -> new ZipItem(id, pdf, null))
+                        .defaultIfEmpty(new ZipItem(id, null, "Invoice not found"))
+                        .onErrorResume(e -> {
+                            log.error("Invoice {} could not be added to the zip export", id, e);
+                            return Mono.just(new ZipItem(id, null, String.valueOf(
+                                    Exceptions.unwrap(e) instanceof RetryLaterException
+                                            ? "Report rendering is saturated"
+                                            : e.getMessage())));
+                        }), zipConcurrency);
+
+        return Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            List<ZipItem> failed = new ArrayList<>();
+            try (Stream<ZipItem> entries = pdfs.toStream(1);
+                    ZipOutputStream zip = new ZipOutputStream(out)) {
+                entries.forEach(entry -> {
+                    if (entry.error() != null) {
+                        failed.add(entry);
+                        return;
+                    }
+                    writeEntry(zip, "invoice-" + entry.invoiceId() + ".pdf", entry.pdf());
                 });
+
+                // Manifiesto de las facturas que no se incluyeron (id y motivo, una por línea)
+                if (!failed.isEmpty()) {
+                    writeEntry(zip, "errors.txt", failed.stream()
+                            .map(entry -> entry.invoiceId() + ": " + entry.error() + "\n")
+                            .collect(Collectors.joining())
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, bufferFactory, task -> Schedulers.boundedElastic().schedule(task)));
+    }
+
+    private static void writeEntry(ZipOutputStream zip, String name, byte[] content) {
+        try {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content);
+            zip.closeEntry();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Ej: el cliente cerró la conexión
+        }
     }
 
 }
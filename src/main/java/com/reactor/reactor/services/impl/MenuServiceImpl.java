@@ -3,19 +3,42 @@ package com.reactor.reactor.services.impl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactor.reactor.batches.BatchResult;
 import com.reactor.reactor.models.Menu;
 import com.reactor.reactor.repositories.IGenericRepo;
 import com.reactor.reactor.repositories.IMenuRepo;
 import com.reactor.reactor.services.IMenuService;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 public class MenuServiceImpl extends CRUDImpl<Menu, String> implements IMenuService {
 
+    // Combinaciones de roles distintas que se guardan (en la práctica son pocas)
+    private static final int MAX_CACHED_ROLE_SETS = 256;
+
     private final IMenuRepo repo;
 
+    private final ObjectMapper objectMapper;
+
+    /*
+     * Menús ya serializados a JSON por conjunto de roles ("ADMIN,USER", ordenado).
+     * Los menús casi no cambian: cualquier escritura en IMenuService limpia la caché.
+     * Se guarda el Mono.cache(), así solicitudes simultáneas comparten una sola consulta.
+     */
+    private final Map<String, Mono<byte[]>> menusJson = new ConcurrentHashMap<>();
+
     @Override
     protected IGenericRepo<Menu, String> getRepo() {
         return repo;
@@ -25,4 +48,71 @@ public class MenuServiceImpl extends CRUDImpl<Menu, String> implements IMenuServ
     public Flux<Menu> getMenus(String[] roles) {
         return repo.getMenus(roles);
     }
+
+    @Override
+    public Mono<byte[]> getMenusJson(Collection<String> roles) {
+        // Mismo conjunto de roles = misma llave, sin importar el orden ni repetidos
+        TreeSet<String> normalized = new TreeSet<>();
+        roles.stream().filter(Objects::nonNull).map(String::trim).filter(role -> !role.isEmpty())
+                .forEach(normalized::add);
+        String key = String.join(",", normalized);
+
+        Mono<byte[]> cached = menusJson.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (menusJson.size() >= MAX_CACHED_ROLE_SETS) {
+            return loadMenusJson(normalized);
+        }
+        return menusJson.computeIfAbsent(key, k -> loadMenusJson(normalized)
+                // Un error no queda en caché: la siguiente solicitud vuelve a consultar
+                .doOnError(e -> menusJson.remove(k))
+                .cache());
+    }
+
+    private Mono<byte[]> loadMenusJson(Collection<String> roles) {
+        return repo.getMenus(roles.toArray(String[]::new))
+                .collectList()
+                .map(this::toJson);
+    }
+
+    private byte[] toJson(List<Menu> menus) {
+        try {
+            return objectMapper.writeValueAsBytes(menus);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menus", e);
+        }
+    }
+
+    // Escrituras: se limpia la caché de menús
+
+    @Override
+    public Mono<Menu> save(Menu menu) {
+        return super.save(menu).doOnSuccess(e -> menusJson.clear());
+    }
+
+    @Override
+    public Mono<Menu> update(String id, Menu menu) {
+        return super.update(id, menu).doOnSuccess(e -> menusJson.clear());
+    }
+
+    @Override
+    public Mono<Boolean> delete(String id) {
+        return super.delete(id).doOnSuccess(e -> menusJson.clear());
+    }
+
+    @Override
+    public Mono<BatchResult> saveAll(List<Menu> list, boolean ordered) {
+        return super.saveAll(list, ordered).doOnSuccess(e -> menusJson.clear());
+    }
+
+    @Override
+    public Mono<BatchResult> updateAll(List<Menu> list, boolean ordered) {
+        return super.updateAll(list, ordered).doOnSuccess(e -> menusJson.clear());
+    }
+
+    @Override
+    public Mono<BatchResult> deleteAll(List<String> ids, boolean ordered) {
+        return super.deleteAll(ids, ordered).doOnSuccess(e -> menusJson.clear());
+    }
 }
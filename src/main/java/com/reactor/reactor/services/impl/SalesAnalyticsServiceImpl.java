@@ -0,0 +1,137 @@
+package com.reactor.reactor.services.impl;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.lookup;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.Fields;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import com.reactor.reactor.dtos.ClientSalesDTO;
+import com.reactor.reactor.dtos.DishSalesDTO;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.services.ISalesAnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/*
+ * Todo el cálculo ocurre en Mongo: $unwind de los items, $group por plato o
+ * cliente y $lookup a "dishes" para el precio. A la JVM solo llegan las filas
+ * agregadas, que se transmiten como Flux a medida que el cursor las entrega.
+ * - Las facturas no guardan fecha: el filtro de fechas usa el timestamp del
+ * ObjectId (_id), que ya está indexado
+ * - El precio es el actual del plato (las facturas no guardan el precio de venta)
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesAnalyticsServiceImpl implements ISalesAnalyticsService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    // Los resultados intermedios de $group pueden superar el límite de memoria de Mongo
+    private static final AggregationOptions OPTIONS = AggregationOptions.builder().allowDiskUse(true).build();
+
+    @Override
+    public Flux<DishSalesDTO> salesByDish(LocalDate from, LocalDate to, String clientId, boolean byQuantity,
+            int limit) {
+        return mongoTemplate.aggregate(dishSalesAggregation(from, to, clientId, byQuantity, limit),
+                mongoTemplate.getCollectionName(Invoice.class), DishSalesDTO.class);
+    }
+
+    @Override
+    public Flux<ClientSalesDTO> salesByClient(LocalDate from, LocalDate to, int limit) {
+        return mongoTemplate.aggregate(clientSalesAggregation(from, to, limit),
+                mongoTemplate.getCollectionName(Invoice.class), ClientSalesDTO.class);
+    }
+
+    private Aggregation dishSalesAggregation(LocalDate from, LocalDate to, String clientId, boolean byQuantity, int limit) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(match(filter(from, to, clientId)));
+        stages.add(unwind("items"));
+        // Unidades por plato antes del $lookup: un lookup por plato, no por línea de factura
+        stages.add(group("items.dish._id").sum("items.quantity").as("quantity"));
+        stages.add(lookup(mongoTemplate.getCollectionName(Dish.class), "_id", "_id", "dish"));
+        stages.add(unwind("dish", true));
+        stages.add(project("quantity")
+                .and("_id").as("dishId")
+                .and("dish.name").as("name")
+                .and("dish.price").as("price")
+                .and(ArithmeticOperators.Multiply.valueOf("quantity").multiplyBy("dish.price")).as("revenue"));
+        stages.add(sort(Sort.Direction.DESC, byQuantity ? "quantity" : "revenue"));
+        stages.add(limit(limit));
+        return newAggregation(stages).withOptions(OPTIONS);
+    }
+
+    private Aggregation clientSalesAggregation(LocalDate from, LocalDate to, int limit) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(match(filter(from, to, null)));
+        stages.add(unwind("items"));
+        // Primero por (cliente, plato) para hacer el $lookup del precio una vez por par
+        stages.add(group(Fields.from(Fields.field("client", "client._id"), Fields.field("dish", "items.dish._id")))
+                .sum("items.quantity").as("quantity"));
+        stages.add(lookup(mongoTemplate.getCollectionName(Dish.class), "_id.dish", "_id", "dish"));
+        stages.add(unwind("dish", true));
+        stages.add(group("_id.client")
+                .sum("quantity").as("quantity")
+                .sum(ArithmeticOperators.Multiply.valueOf("quantity").multiplyBy("dish.price")).as("revenue"));
+        stages.add(sort(Sort.Direction.DESC, "revenue"));
+        stages.add(limit(limit));
+        stages.add(lookup(mongoTemplate.getCollectionName(Client.class), "_id", "_id", "client"));
+        stages.add(unwind("client", true));
+        stages.add(project("quantity", "revenue")
+                .and("_id").as("clientId")
+                .and("client.firstName").as("firstName")
+                .and("client.lastName").as("lastName"));
+        return newAggregation(stages).withOptions(OPTIONS);
+    }
+
+    // Filtro por rango de fechas (inclusivo, UTC) y por cliente
+    private Criteria filter(LocalDate from, LocalDate to, String clientId) {
+        Criteria criteria = new Criteria();
+        if (from != null || to != null) {
+            Criteria id = Criteria.where("_id");
+            if (from != null) {
+                id = id.gte(objectIdAt(from));
+            }
+            if (to != null) {
+                id = id.lt(objectIdAt(to.plusDays(1)));
+            }
+            criteria = id;
+        }
+        if (clientId != null) {
+            // El id del cliente embebido se guarda como ObjectId si es válido, o como texto
+            criteria = criteria.and("client._id").in(ObjectId.isValid(clientId)
+                    ? List.of(new ObjectId(clientId), clientId)
+                    : List.of(clientId));
+        }
+        return criteria;
+    }
+
+    // Menor ObjectId posible del día: timestamp de las 00:00 UTC y el resto en cero
+    private static ObjectId objectIdAt(LocalDate date) {
+        long seconds = date.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        return new ObjectId(String.format("%08x%016x", seconds, 0));
+    }
+
+}
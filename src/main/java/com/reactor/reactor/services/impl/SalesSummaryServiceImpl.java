@@ -0,0 +1,299 @@
+package com.reactor.reactor.services.impl;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+import com.reactor.reactor.models.SalesSummary;
+import com.reactor.reactor.repositories.IDishRepo;
+import com.reactor.reactor.repositories.IInvoiceRepo;
+import com.reactor.reactor.services.ISalesSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Vista materializada de ventas: un documento por (plato o cliente, día) con
+ * contadores que se actualizan con $inc en cada escritura de facturas, así los
+ * dashboards leen un par de documentos por índice en vez de agregar facturas.
+ * - El día es el del timestamp del ObjectId de la factura (igual que /sales)
+ * - El ingreso usa el precio del plato al momento de la escritura
+ * - rebuild() recalcula todo (backfill o si los contadores se desfasan, ej:
+ * cambió el precio de un plato) con una sola agregación que termina en $merge:
+ * cada documento se reemplaza en su lugar, así los dashboards nunca leen un
+ * resumen vacío o a medio armar
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesSummaryServiceImpl implements ISalesSummaryService, InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesSummaryServiceImpl.class);
+
+    // El rebuild agrupa todas las facturas: sus resultados intermedios pueden
+    // superar el límite de memoria de Mongo. La salida va directo a la colección
+    private static final AggregationOptions REBUILD_OPTIONS = AggregationOptions.builder()
+            .allowDiskUse(true)
+            .skipOutput()
+            .build();
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final IInvoiceRepo invoiceRepo;
+    private final IDishRepo dishRepo;
+
+    // Contadores a sumar en un documento del resumen
+    private record Delta(SalesSummary.Type type, String key, String day, long quantity, double revenue,
+            long invoices) {
+
+        String id() {
+            return SalesSummary.idOf(type, key, day);
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(type, key, day, quantity + other.quantity, revenue + other.revenue,
+                    invoices + other.invoices);
+        }
+
+        boolean isZero() {
+            return quantity == 0 && revenue == 0 && invoices == 0;
+        }
+    }
+
+    // Índices para que top() sea una sola consulta por índice (type + day, ordenado)
+    @Override
+    public void afterPropertiesSet() {
+        Flux.just("quantity", "revenue")
+                .flatMap(field -> mongoTemplate.indexOps(SalesSummary.class).createIndex(new Index()
+                        .on("type", Sort.Direction.ASC)
+                        .on("day", Sort.Direction.ASC)
+                        .on(field, Sort.Direction.DESC)))
+                .subscribe(name -> log.debug("Index {} ready", name),
+                        e -> log.warn("Could not create sales_summary indexes: {}", e.getMessage()));
+    }
+
+    @Override
+    public Mono<Void> record(List<Invoice> removed, List<Invoice> added) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return Mono.empty();
+        }
+
+        // Una sola consulta de precios para todos los platos involucrados
+        Set<String> dishIds = Stream.concat(removed.stream(), added.stream())
+                .flatMap(invoice -> items(invoice).stream())
+                .map(item -> item.getDish().getId())
+                .collect(Collectors.toSet());
+
+        return dishRepo.findAllById(dishIds)
+                .filter(dish -> dish.getPrice() != null)
+                .collectMap(Dish::getId, Dish::getPrice)
+                .flatMap(prices -> {
+                    // Se combinan los deltas por documento: un update por documento afectado
+                    Map<String, Delta> deltas = new HashMap<>();
+                    removed.forEach(invoice -> deltas(invoice, -1, prices)
+                            .forEach(delta -> deltas.merge(delta.id(), delta, Delta::plus)));
+                    added.forEach(invoice -> deltas(invoice, 1, prices)
+                            .forEach(delta -> deltas.merge(delta.id(), delta, Delta::plus)));
+                    return apply(deltas.values());
+                });
+    }
+
+    /*
+     * 1. Se toma la hora del servidor antes de empezar.
+     * 2. La agregación recalcula todos los documentos y los reemplaza con $merge
+     * (updatedAt = $$NOW, hora del servidor).
+     * 3. Se eliminan los documentos que no se tocaron desde el inicio: claves que
+     * ya no tienen ventas. Los que record() escribió durante el rebuild tienen
+     * updatedAt posterior y se conservan.
+     * Una escritura de facturas que ocurre justo mientras $merge reemplaza su
+     * documento puede quedar contada 0 o 2 veces (la ventana es por documento,
+     * no todo el rebuild); el siguiente rebuild la corrige.
+     */
+    @Override
+    public Mono<Long> rebuild() {
+        return serverTime()
+                .flatMap(startedAt -> mongoTemplate.aggregate(rebuildAggregation(),
+                        mongoTemplate.getCollectionName(Invoice.class), Document.class)
+                        .then(mongoTemplate.remove(new Query(new Criteria().orOperator(
+                                Criteria.where("updatedAt").lt(startedAt),
+                                Criteria.where("updatedAt").exists(false))), SalesSummary.class)))
+                .doOnNext(stale -> log.debug("Removed {} stale sales summaries", stale.getDeletedCount()))
+                .then(invoiceRepo.count())
+                .doOnSuccess(total -> log.info("Sales summary rebuilt from {} invoices", total));
+    }
+
+    // Hora actual de Mongo (comando hello): misma referencia que $$NOW y $currentDate
+    private Mono<Date> serverTime() {
+        return mongoTemplate.executeCommand(new Document("hello", 1))
+                .map(hello -> hello.getDate("localTime"));
+    }
+
+    /*
+     * Mismo cálculo que record() sobre todas las facturas:
+     * - por (factura, plato): unidades y una factura aunque el plato se repita
+     * - $lookup del precio actual del plato
+     * - cada fila aporta a su plato y a su cliente; se agrupa por (tipo, clave, día)
+     */
+    private Aggregation rebuildAggregation() {
+        Document day = new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                .append("timezone", "UTC")
+                // Día del timestamp del ObjectId (hoy si el id no es un ObjectId)
+                .append("date", new Document("$convert", new Document("input", "$_id").append("to", "date")
+                        .append("onError", "$$NOW").append("onNull", "$$NOW"))));
+
+        return newAggregation(
+                stage("$project", new Document("client", "$client._id")
+                        .append("day", day)
+                        // Igual que items(): se ignoran las líneas sin plato
+                        .append("items", new Document("$filter", new Document("input",
+                                new Document("$ifNull", List.of("$items", List.of())))
+                                .append("cond", new Document("$ne",
+                                        Arrays.asList(new Document("$ifNull", Arrays.asList("$$this.dish", null)),
+                                                null)))))),
+                // Las facturas sin items también cuentan para el cliente
+                stage("$unwind", new Document("path", "$items").append("preserveNullAndEmptyArrays", true)),
+                stage("$group", new Document("_id", new Document("invoice", "$_id")
+                        .append("dish", "$items.dish._id")
+                        .append("client", "$client")
+                        .append("day", "$day"))
+                        .append("quantity", new Document("$sum", "$items.quantity"))),
+                stage("$lookup", new Document("from", mongoTemplate.getCollectionName(Dish.class))
+                        .append("localField", "_id.dish")
+                        .append("foreignField", "_id")
+                        .append("as", "dish")),
+                stage("$project", new Document("_id", 0)
+                        .append("invoice", "$_id.invoice")
+                        .append("day", "$_id.day")
+                        .append("quantity", 1)
+                        .append("revenue", new Document("$multiply", List.of("$quantity", new Document("$ifNull",
+                                List.of(new Document("$arrayElemAt", List.of("$dish.price", 0)), 0d)))))
+                        .append("entries", List.of(
+                                new Document("type", SalesSummary.Type.DISH.name()).append("key", "$_id.dish"),
+                                new Document("type", SalesSummary.Type.CLIENT.name()).append("key", "$_id.client")))),
+                stage("$unwind", "$entries"),
+                stage("$match", new Document("entries.key", new Document("$ne", null))),
+                stage("$group", new Document("_id", new Document("type", "$entries.type")
+                        .append("key", new Document("$toString", "$entries.key"))
+                        .append("day", "$day"))
+                        .append("quantity", new Document("$sum", "$quantity"))
+                        .append("revenue", new Document("$sum", "$revenue"))
+                        .append("invoices", new Document("$addToSet", "$invoice"))),
+                stage("$project", new Document("_id", new Document("$concat",
+                        List.of("$_id.type", ":", "$_id.key", ":", "$_id.day")))
+                        .append("type", "$_id.type")
+                        .append("key", "$_id.key")
+                        .append("day", "$_id.day")
+                        .append("quantity", new Document("$toLong", "$quantity"))
+                        .append("revenue", new Document("$toDouble", "$revenue"))
+                        .append("invoices", new Document("$toLong", new Document("$size", "$invoices")))
+                        .append("updatedAt", "$$NOW")),
+                stage("$merge", new Document("into", mongoTemplate.getCollectionName(SalesSummary.class))
+                        .append("on", "_id")
+                        .append("whenMatched", "replace")
+                        .append("whenNotMatched", "insert")))
+                .withOptions(REBUILD_OPTIONS);
+    }
+
+    private static AggregationOperation stage(String operator, Object value) {
+        return context -> new Document(operator, value);
+    }
+
+    @Override
+    public Flux<SalesSummary> top(SalesSummary.Type type, LocalDate day, String sort, int limit) {
+        Query query = new Query(Criteria.where("type").is(type).and("day").is(day.toString()))
+                .with(Sort.by(Sort.Direction.DESC, "revenue".equals(sort) ? "revenue" : "quantity"))
+                .limit(limit);
+        return mongoTemplate.find(query, SalesSummary.class);
+    }
+
+    @Override
+    public Mono<SalesSummary> find(SalesSummary.Type type, String key, LocalDate day) {
+        return mongoTemplate.findById(SalesSummary.idOf(type, key, day.toString()), SalesSummary.class);
+    }
+
+    // Contadores que aporta una factura (sign = -1 para descontarla)
+    private List<Delta> deltas(Invoice invoice, int sign, Map<String, Double> prices) {
+        String day = dayOf(invoice);
+        Map<String, Delta> byDish = new HashMap<>();
+        for (InvoiceDetail item : items(invoice)) {
+            String dishId = item.getDish().getId();
+            double revenue = item.getQuantity() * prices.getOrDefault(dishId, 0d);
+            // invoices = 1 por factura aunque el plato aparezca en varias líneas
+            byDish.merge(dishId, new Delta(SalesSummary.Type.DISH, dishId, day, sign * item.getQuantity(),
+                    sign * revenue, sign), (a, b) -> new Delta(a.type(), a.key(), day,
+                            a.quantity() + b.quantity(), a.revenue() + b.revenue(), a.invoices()));
+        }
+
+        List<Delta> deltas = new ArrayList<>(byDish.values());
+        if (invoice.getClient() != null && invoice.getClient().getId() != null) {
+            deltas.add(new Delta(SalesSummary.Type.CLIENT, invoice.getClient().getId(), day,
+                    byDish.values().stream().mapToLong(Delta::quantity).sum(),
+                    byDish.values().stream().mapToDouble(Delta::revenue).sum(), sign));
+        }
+        return deltas;
+    }
+
+    private Mono<Void> apply(Collection<Delta> deltas) {
+        List<Delta> changes = deltas.stream().filter(delta -> !delta.isZero()).toList();
+        if (changes.isEmpty()) {
+            return Mono.empty();
+        }
+
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, SalesSummary.class);
+        changes.forEach(delta -> bulk.upsert(new Query(Criteria.where("_id").is(delta.id())), new Update()
+                .inc("quantity", delta.quantity())
+                .inc("revenue", delta.revenue())
+                .inc("invoices", delta.invoices())
+                .currentDate("updatedAt")
+                .setOnInsert("type", delta.type())
+                .setOnInsert("key", delta.key())
+                .setOnInsert("day", delta.day())));
+        return bulk.execute().then();
+    }
+
+    private static List<InvoiceDetail> items(Invoice invoice) {
+        return invoice.getItems() == null ? List.of()
+                : invoice.getItems().stream().filter(item -> item.getDish() != null).toList();
+    }
+
+    // Día de la factura según el timestamp de su ObjectId (hoy si el id no es un ObjectId)
+    private static String dayOf(Invoice invoice) {
+        Instant created = invoice.getId() != null && ObjectId.isValid(invoice.getId())
+                ? new ObjectId(invoice.getId()).getDate().toInstant()
+                : Instant.now();
+        return LocalDate.ofInstant(created, ZoneOffset.UTC).toString();
+    }
+
+}
@@ -3,11 +3,10 @@ package com.reactor.reactor.services.impl;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import com.reactor.reactor.models.Role;
 import com.reactor.reactor.models.User;
 import com.reactor.reactor.repositories.IGenericRepo;
-import com.reactor.reactor.repositories.IRoleRepo;
 import com.reactor.reactor.repositories.IUserRepo;
+import com.reactor.reactor.security.RoleRegistry;
 import com.reactor.reactor.services.IUserService;
 
 import lombok.RequiredArgsConstructor;
@@ -20,7 +19,8 @@ public class UserServiceImpl extends CRUDImpl<User, String> implements IUserServ
 
     private final IUserRepo userRepo;
 
-    private final IRoleRepo roleRepo;
+    // Roles en memoria: el login no consulta la colección de roles
+    private final RoleRegistry roleRegistry;
 
     private final BCryptPasswordEncoder bcrypt;
 
@@ -40,7 +40,7 @@ public class UserServiceImpl extends CRUDImpl<User, String> implements IUserServ
      * compatible con Spring Security
      * Buscar al usuario en la bdd, por cada rol asociado al usuario, obtener el
      * nombre
-     * del rol desde el repo de Role.
+     * del rol desde el registro de roles en memoria (RoleRegistry).
      * Construir una lista de roles como Strings y luego crear un objeto de Spring
      * Security
      * (com.reactor.reactor.security.User) con: username, password encriptado,
@@ -54,8 +54,7 @@ public class UserServiceImpl extends CRUDImpl<User, String> implements IUserServ
         return userRepo.findOneByUsername(username) // Busque el usuario en la bdd
                 // Iterar sobre los roles del usuario
                 .flatMap(user -> Flux.fromIterable(user.getRoles())
-                        .flatMap(userRole -> roleRepo.findById(userRole.getId()) // Buscar cada rol en el repo
-                                .map(Role::getName))
+                        .concatMap(userRole -> roleRegistry.findName(userRole.getId())) // Nombre de cada rol
                         .collectList() // convierte el flujo de nombres de roles en una lista
                         .map(roles -> new com.reactor.reactor.security.User(
                                 user.getUsername(),
@@ -0,0 +1,70 @@
+package com.reactor.reactor.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactor.reactor.dtos.DishDTO;
+import com.reactor.reactor.responses.EncodedJson;
+
+/*
+ * Costo por solicitud de GET /dishes con el catálogo en memoria (300 platos):
+ * - serializeEachTime: Jackson serializa la lista en cada respuesta (antes)
+ * - gzipEachTime: serializar, comprimir y calcular el ETag en cada respuesta
+ * - cached: se envuelve el JSON ya guardado en un DataBuffer
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CatalogResponseBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private DataBufferFactory bufferFactory;
+    private List<DishDTO> dishes;
+    private EncodedJson cached;
+
+    @Setup
+    public void setup() throws Exception {
+        objectMapper = new ObjectMapper();
+        bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        dishes = IntStream.range(0, 300)
+                .mapToObj(i -> new DishDTO(String.valueOf(i), "Dish " + i, 9.9, true, 1L))
+                .toList();
+        cached = EncodedJson.of(objectMapper.writeValueAsBytes(dishes));
+    }
+
+    @Benchmark
+    public DataBuffer serializeEachTime() throws Exception {
+        return bufferFactory.wrap(objectMapper.writeValueAsBytes(dishes));
+    }
+
+    @Benchmark
+    public DataBuffer gzipEachTime() throws Exception {
+        return bufferFactory.wrap(EncodedJson.of(objectMapper.writeValueAsBytes(dishes)).gzip());
+    }
+
+    @Benchmark
+    public DataBuffer cached() {
+        return bufferFactory.wrap(cached.gzip());
+    }
+
+}
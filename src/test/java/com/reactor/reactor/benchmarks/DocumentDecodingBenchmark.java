@@ -0,0 +1,124 @@
+package com.reactor.reactor.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.reactor.reactor.configs.MongoConfig;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+
+/*
+ * Documentos de facturas decodificados por segundo (lo que cuesta un findAll a la JVM):
+ * - mapping*: MappingMongoConverter con el mapeo reflexivo (antes)
+ * - converters*: con los converters de MongoConfig
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=DocumentDecodingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentDecodingBenchmark {
+
+    private static final int DOCUMENTS = 1000;
+
+    private MappingMongoConverter mapping;
+    private MappingMongoConverter converters;
+    private List<Document> invoices;
+    private List<Document> dishes;
+
+    @Setup
+    public void setup() {
+        mapping = converter(new MongoCustomConversions(List.of()));
+        converters = converter(MongoConfig.mongoCustomConversions());
+
+        Client client = new Client(new ObjectId().toHexString(), "Jaime", "Medina", LocalDate.of(1991, 5, 20),
+                "http://photo", 1L);
+
+        // Facturas de 10 líneas escritas con el mapeo original
+        invoices = IntStream.range(0, DOCUMENTS).mapToObj(i -> {
+            Document document = new Document();
+            mapping.write(new Invoice(new ObjectId().toHexString(), "Factura " + i, client,
+                    IntStream.range(0, 10)
+                            .mapToObj(j -> new InvoiceDetail(j + 1,
+                                    new Dish(new ObjectId().toHexString(), "Dish " + j, 9.9, true, 1L)))
+                            .toList()),
+                    document);
+            return document;
+        }).toList();
+
+        dishes = IntStream.range(0, DOCUMENTS).mapToObj(i -> {
+            Document document = new Document();
+            mapping.write(new Dish(new ObjectId().toHexString(), "Dish " + i, 9.9, true, 1L), document);
+            return document;
+        }).toList();
+    }
+
+    private static MappingMongoConverter converter(MongoCustomConversions conversions) {
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        context.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static void read(MappingMongoConverter converter, Class<?> type, List<Document> documents, Blackhole bh) {
+        for (Document document : documents) {
+            bh.consume(converter.read(type, document));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void mappingInvoices(Blackhole bh) {
+        read(mapping, Invoice.class, invoices, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void convertersInvoices(Blackhole bh) {
+        read(converters, Invoice.class, invoices, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void mappingDishes(Blackhole bh) {
+        read(mapping, Dish.class, dishes, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public void convertersDishes(Blackhole bh) {
+        read(converters, Dish.class, dishes, bh);
+    }
+
+}
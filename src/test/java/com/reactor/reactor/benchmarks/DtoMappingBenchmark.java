@@ -0,0 +1,112 @@
+package com.reactor.reactor.benchmarks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.reactor.reactor.configs.MapperConfig;
+import com.reactor.reactor.dtos.ClientDTO;
+import com.reactor.reactor.dtos.DishDTO;
+import com.reactor.reactor.dtos.InvoiceDTO;
+import com.reactor.reactor.mappers.ClientDtoMapper;
+import com.reactor.reactor.mappers.DishDtoMapper;
+import com.reactor.reactor.mappers.InvoiceDtoMapper;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+
+/*
+ * Costo de convertir un documento a DTO por cada fila de una respuesta:
+ * - modelMapper*: lo que hacían los controladores antes (ModelMapper de MapperConfig)
+ * - compiled*: mappers escritos a mano (paquete mappers)
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=DtoMappingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private ModelMapper defaultMapper;
+    private ModelMapper clientModelMapper;
+
+    private DishDtoMapper dishMapper;
+    private ClientDtoMapper clientMapper;
+    private InvoiceDtoMapper invoiceMapper;
+
+    private Dish dish;
+    private Client client;
+    private Invoice invoice;
+
+    @Setup
+    public void setup() {
+        MapperConfig config = new MapperConfig();
+        defaultMapper = config.defaultMapper();
+        clientModelMapper = config.clientMapper();
+
+        dishMapper = new DishDtoMapper();
+        clientMapper = new ClientDtoMapper();
+        invoiceMapper = new InvoiceDtoMapper(dishMapper);
+
+        dish = new Dish("1", "Pizza", 29.9, true, 1L);
+        client = new Client("1", "Jaime", "Medina", LocalDate.of(1991, 5, 20), "http://photo", 1L);
+
+        // Factura de 10 líneas
+        invoice = new Invoice("1", "Cena", client, IntStream.range(0, 10)
+                .mapToObj(i -> new InvoiceDetail(i + 1, new Dish(String.valueOf(i), "Dish " + i, 9.9, true, 1L)))
+                .toList());
+    }
+
+    @Benchmark
+    public DishDTO modelMapperDish() {
+        return defaultMapper.map(dish, DishDTO.class);
+    }
+
+    @Benchmark
+    public DishDTO compiledDish() {
+        return dishMapper.toDto(dish);
+    }
+
+    @Benchmark
+    public ClientDTO modelMapperClient() {
+        return clientModelMapper.map(client, ClientDTO.class);
+    }
+
+    @Benchmark
+    public ClientDTO compiledClient() {
+        return clientMapper.toDto(client);
+    }
+
+    @Benchmark
+    public InvoiceDTO modelMapperInvoice() {
+        return defaultMapper.map(invoice, InvoiceDTO.class);
+    }
+
+    @Benchmark
+    public InvoiceDTO compiledInvoice() {
+        return invoiceMapper.toDto(invoice);
+    }
+
+    // Ida y vuelta de una lista como la de GET /invoices
+    @Benchmark
+    public List<Invoice> compiledInvoiceRoundTrip() {
+        return List.of(invoiceMapper.toDocument(invoiceMapper.toDto(invoice)));
+    }
+
+}
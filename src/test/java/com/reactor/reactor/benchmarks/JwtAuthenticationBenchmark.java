@@ -0,0 +1,94 @@
+package com.reactor.reactor.benchmarks;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.reactor.reactor.security.AuthenticationManager;
+import com.reactor.reactor.security.JwtUtil;
+import com.reactor.reactor.security.User;
+import com.reactor.reactor.security.VerifiedTokenCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/*
+ * Costo de autenticar una solicitud con un token JWT:
+ * - threeParses: lo que hacía AuthenticationManager antes (3 parseos + verificación
+ * de firma, con clave y parser nuevos en cada uno)
+ * - singleParse: un solo parseo con el parser reutilizado (primera solicitud de un token)
+ * - cached: token ya verificado (VerifiedTokenCache)
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtAuthenticationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "4u7x!A%D*G-KaNdRgUkXp2s5v8y/B?E(H+MbQeShVmYq3t6w9z$C&F)J@NcRfUjW";
+
+    private JwtUtil jwtUtil;
+    private AuthenticationManager cachedManager;
+    private String token;
+    private Authentication request;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        jwtUtil.afterPropertiesSet();
+
+        token = jwtUtil.generateToken(new User("mitocode", "123", true, List.of("ADMIN", "USER")));
+        request = new UsernamePasswordAuthenticationToken(token, token);
+
+        cachedManager = new AuthenticationManager(jwtUtil, new VerifiedTokenCache(10_000));
+        cachedManager.authenticate(request).block();
+    }
+
+    @Benchmark
+    public Authentication threeParses() {
+        String user = legacyClaims().getSubject();
+        boolean valid = legacyClaims().getExpiration().after(new Date());
+        List<?> roles = legacyClaims().get("roles", List.class);
+        return valid ? new UsernamePasswordAuthenticationToken(user, null,
+                roles.stream().map(role -> new SimpleGrantedAuthority(role.toString())).toList())
+                : null;
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return jwtUtil.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public Authentication cached() {
+        return cachedManager.authenticate(request).block();
+    }
+
+    private Claims legacyClaims() {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+}
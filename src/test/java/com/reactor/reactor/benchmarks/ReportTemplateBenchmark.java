@@ -0,0 +1,81 @@
+package com.reactor.reactor.benchmarks;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.InvoiceDetail;
+import com.reactor.reactor.reports.ReportTemplateRegistry;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperExportManager;
+import net.sf.jasperreports.engine.JasperFillManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+
+/*
+ * Latencia por reporte de factura:
+ * - compileEachTime: lo que hacía generatePDF antes (compilar el jrxml en cada solicitud)
+ * - precompiled: plantilla tomada del ReportTemplateRegistry
+ * Ejecutar con: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ReportTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportTemplateBenchmark {
+
+    private ReportTemplateRegistry registry;
+    private Map<String, Object> params;
+    private List<InvoiceDetail> items;
+
+    @Setup
+    public void setup() {
+        registry = new ReportTemplateRegistry();
+        registry.afterPropertiesSet();
+
+        params = new HashMap<>();
+        params.put("txt_client", "Jaime Medina");
+
+        // Factura de 20 líneas
+        items = IntStream.range(0, 20)
+                .mapToObj(i -> new InvoiceDetail(i + 1, new Dish(String.valueOf(i), "Dish " + i, 9.9, true)))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] compileEachTime() throws Exception {
+        try (InputStream stream = getClass().getResourceAsStream("/facturas.jrxml")) {
+            JasperReport report = JasperCompileManager.compileReport(stream);
+            return render(report);
+        }
+    }
+
+    @Benchmark
+    public byte[] precompiled() throws Exception {
+        return render(registry.get(ReportTemplateRegistry.INVOICE_TEMPLATE).report());
+    }
+
+    private byte[] render(JasperReport report) throws Exception {
+        return JasperExportManager.exportReportToPdf(
+                JasperFillManager.fillReport(report, params, new JRBeanCollectionDataSource(items)));
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.reactor.reactor.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.repositories.IDishRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class DishCatalogTest {
+
+    private IDishRepo repo;
+    private DishCatalog catalog;
+
+    @BeforeEach
+    public void setUp() {
+        repo = mock(IDishRepo.class);
+        when(repo.findAll(any(Sort.class))).thenReturn(Flux.just(
+                new Dish("1", "Soda", 2.5, true), new Dish("2", "Pizza", 29.9, true)));
+        catalog = new DishCatalog(repo, mock(ReactiveMongoTemplate.class), true, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testReadsDoNotQueryMongoOnceLoaded() {
+        StepVerifier.create(catalog.refresh()).verifyComplete();
+        assertTrue(catalog.isLoaded());
+
+        StepVerifier.create(catalog.findAll().map(Dish::getName)).expectNext("Soda", "Pizza").verifyComplete();
+        StepVerifier.create(catalog.findById("2").map(Dish::getName)).expectNext("Pizza").verifyComplete();
+        StepVerifier.create(catalog.findById("9")).verifyComplete();
+        StepVerifier.create(catalog.findAllById(List.of("2", "2", "9")).map(Dish::getId)).expectNext("2")
+                .verifyComplete();
+
+        verify(repo, never()).findAll();
+        verify(repo, never()).findById(any(String.class));
+        verify(repo, never()).findAllById(any(Iterable.class));
+    }
+
+    @Test
+    public void testFallsBackToMongoUntilLoaded() {
+        when(repo.findById("1")).thenReturn(Mono.just(new Dish("1", "Soda", 2.5, true)));
+
+        assertFalse(catalog.isLoaded());
+        StepVerifier.create(catalog.findById("1")).expectNextCount(1).verifyComplete();
+        verify(repo).findById("1");
+    }
+
+    @Test
+    public void testWritesSwapTheSnapshot() {
+        StepVerifier.create(catalog.refresh()).verifyComplete();
+        List<Dish> before = catalog.findAll().collectList().block();
+
+        Dish tacos = new Dish("3", "Tacos", 7.5, true);
+        catalog.put(tacos);
+        catalog.put(new Dish("1", "Soda Zero", 2.9, true));
+        catalog.remove("2");
+        tacos.setName("Modificado fuera del catálogo");
+
+        StepVerifier.create(catalog.findAll().map(Dish::getName)).expectNext("Soda Zero", "Tacos").verifyComplete();
+        // El snapshot anterior no cambia: las lecturas en curso siguen viendo una versión consistente
+        assertEquals(List.of("Soda", "Pizza"), before.stream().map(Dish::getName).toList());
+    }
+
+    @Test
+    public void testRefreshStartedBeforeAWriteIsReloaded() {
+        StepVerifier.create(catalog.refresh()).verifyComplete();
+
+        // La primera recarga termina después de una escritura: se descarta y se vuelve a cargar
+        when(repo.findAll(any(Sort.class)))
+                .thenReturn(Flux.defer(() -> {
+                    catalog.put(new Dish("3", "Tacos", 7.5, true));
+                    return Flux.just(new Dish("1", "Soda", 2.5, true));
+                }))
+                .thenReturn(Flux.just(new Dish("1", "Soda", 2.5, true), new Dish("3", "Tacos", 7.5, true)));
+
+        StepVerifier.create(catalog.refresh()).verifyComplete();
+
+        StepVerifier.create(catalog.findAll().map(Dish::getId)).expectNext("1", "3").verifyComplete();
+        verify(repo, times(3)).findAll(any(Sort.class));
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.reactor.reactor.converters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.reactor.reactor.configs.MongoConfig;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+
+// Los converters deben producir y leer los mismos documentos que el mapeo reflexivo
+public class EntityDocumentConversionsTest {
+
+    private final MappingMongoConverter mapping = converter(new MongoCustomConversions(List.of()));
+    private final MongoCustomConversions conversions = MongoConfig.mongoCustomConversions();
+    private final MappingMongoConverter custom = converter(conversions);
+
+    private final Dish dish = new Dish("65f1c0e2a1b2c3d4e5f60718", "Pizza", 29.9, true, 3L);
+    private final Client client = new Client("65f1c0e2a1b2c3d4e5f60719", "Ana", "Perez", LocalDate.of(1990, 1, 2),
+            "http://photo", 4L);
+
+    // Mismo armado que hace Spring Boot con las conversiones y el MappingContext
+    static MappingMongoConverter converter(MongoCustomConversions conversions) {
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        context.afterPropertiesSet();
+
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private void assertRoundTrip(Object entity) {
+        Document expected = new Document();
+        mapping.write(entity, expected);
+        Document actual = new Document();
+        custom.write(entity, actual);
+
+        assertEquals(expected, actual);
+        assertEquals(entity.toString(), custom.read(entity.getClass(), expected).toString());
+        assertEquals(mapping.read(entity.getClass(), actual).toString(), custom.read(entity.getClass(), actual).toString());
+    }
+
+    @Test
+    public void testConvertersAreRegistered() {
+        for (Class<?> type : List.of(Dish.class, Client.class, Invoice.class, InvoiceDetail.class)) {
+            assertTrue(conversions.hasCustomReadTarget(Document.class, type));
+            assertTrue(conversions.hasCustomWriteTarget(type, Document.class));
+        }
+    }
+
+    @Test
+    public void testDish() {
+        assertRoundTrip(dish);
+        // Sin id ni versión (documento nuevo) y con un id que no es ObjectId
+        assertRoundTrip(new Dish(null, "Soda", 2.5, false));
+        assertRoundTrip(new Dish("legacy-1", "Soda", null, null));
+    }
+
+    @Test
+    public void testClient() {
+        assertRoundTrip(client);
+        assertRoundTrip(new Client(null, "Luis", null, null, null, null));
+    }
+
+    @Test
+    public void testInvoice() {
+        assertRoundTrip(new Invoice("65f1c0e2a1b2c3d4e5f6071a", "Cena", client,
+                List.of(new InvoiceDetail(2, dish), new InvoiceDetail(1, new Dish("legacy-1", "Soda", 2.5, true)))));
+        assertRoundTrip(new Invoice(null, "Sin items", null, null));
+        assertRoundTrip(new Invoice(null, "Versionada", client, List.of(), 4L));
+        assertRoundTrip(new Invoice(null, "Item sin plato", client, Arrays.asList(new InvoiceDetail(1, null))));
+    }
+
+    @Test
+    public void testReadsNumbersStoredWithOtherTypes() {
+        // Documentos insertados desde el shell: precio entero, versión Int32
+        Document document = new Document("_id", "x").append("name", "Soda").append("price", 10).append("version", 2);
+
+        Dish read = custom.read(Dish.class, document);
+        assertEquals(10.0, read.getPrice());
+        assertEquals(2L, read.getVersion());
+    }
+
+    @Test
+    public void testQueriesStillMapNestedIds() {
+        Query query = Query.query(Criteria.where("client.id").is(client.getId()).and("items.dish.id").is(dish.getId()));
+
+        assertEquals(
+                new QueryMapper(mapping).getMappedObject(query.getQueryObject(),
+                        mapping.getMappingContext().getPersistentEntity(Invoice.class)),
+                new QueryMapper(custom).getMappedObject(query.getQueryObject(),
+                        custom.getMappingContext().getPersistentEntity(Invoice.class)));
+    }
+
+}
@@ -2,6 +2,7 @@ package com.reactor.reactor.dishes.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,11 +10,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.web.WebProperties.Resources;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
 //import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -21,13 +21,17 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 
 import com.reactor.reactor.controllers.DishController;
 import com.reactor.reactor.dtos.DishDTO;
+import com.reactor.reactor.mappers.DishDtoMapper;
 import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.responses.ConditionalResponses;
+import com.reactor.reactor.responses.EncodedJson;
 import com.reactor.reactor.services.IDishService;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @WebFluxTest(controllers = DishController.class)
+@Import(ConditionalResponses.class)
 public class DishControllerTest {
 
     @Autowired
@@ -39,8 +43,7 @@ public class DishControllerTest {
 
     // @MockBean
     @MockitoBean
-    @Qualifier("defaultMapper")
-    private ModelMapper modelMapper;
+    private DishDtoMapper mapper;
 
     // Objetos que se utilizarán como data para las pruebas
     private Dish dish1;
@@ -77,8 +80,12 @@ public class DishControllerTest {
         // Definir el comportamiento simulado de todos los métodos del servicio y el
         // mapper. (contexto)
         Mockito.when(service.findAll()).thenReturn(Flux.fromIterable(dishes));
-        Mockito.when(modelMapper.map(dish1, DishDTO.class)).thenReturn(dish1DTO);
-        Mockito.when(modelMapper.map(dish2, DishDTO.class)).thenReturn(dish2DTO);
+        // GET /dishes responde con la lista ya serializada por el servicio
+        Mockito.when(service.findAllJson()).thenReturn(Mono.just(EncodedJson.of(
+                "[{\"id\":\"1\",\"nameDish\":\"Soda\",\"priceDish\":10.2,\"statusDish\":true},{\"id\":\"2\",\"nameDish\":\"Pizza\",\"priceDish\":29.9,\"statusDish\":true}]"
+                        .getBytes(StandardCharsets.UTF_8))));
+        Mockito.when(mapper.toDto(dish1)).thenReturn(dish1DTO);
+        Mockito.when(mapper.toDto(dish2)).thenReturn(dish2DTO);
         Mockito.when(service.save(any())).thenReturn(Mono.just(dish1));
         Mockito.when(service.update(any(), any())).thenReturn(Mono.just(dish1));
     }
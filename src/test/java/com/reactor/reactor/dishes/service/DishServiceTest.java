@@ -1,18 +1,33 @@
 package com.reactor.reactor.dishes.service;
 
+import static org.mockito.ArgumentMatchers.any;
+
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.modelmapper.internal.util.Assert;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactor.reactor.catalog.DishCatalog;
+import com.reactor.reactor.mappers.DishDtoMapper;
 import com.reactor.reactor.models.Dish;
 import com.reactor.reactor.repositories.IDishRepo;
+import com.reactor.reactor.responses.EncodedJson;
+import com.reactor.reactor.services.impl.DishServiceImpl;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @ExtendWith(SpringExtension.class)
 public class DishServiceTest {
@@ -20,6 +35,10 @@ public class DishServiceTest {
     @MockitoBean
     private IDishRepo repo;
 
+    // La paginación consulta Mongo directamente, sin pasar por el catálogo
+    @MockitoBean
+    private DishCatalog catalog;
+
     @Test
     public void testFindAll() {
 
@@ -37,4 +56,103 @@ public class DishServiceTest {
 
     }
 
+    @Test
+    public void testGetPage() {
+        // La página se pide a Mongo (findAllBy) y el total con count, sin usar findAll
+        Mockito.when(repo.findAllBy(any())).thenReturn(Flux.just(new Dish(), new Dish()));
+        Mockito.when(repo.count()).thenReturn(Mono.just(7L));
+
+        StepVerifier.create(new DishServiceImpl(repo, catalog, new DishDtoMapper(), new ObjectMapper()).getPage(PageRequest.of(1, 2)))
+                .expectNextMatches(page -> page.getContent().size() == 2
+                        && page.getPageNumber() == 1
+                        && page.getTotalElements() == 7
+                        && page.totalPages() == 4)
+                .verifyComplete();
+
+        Mockito.verify(repo, Mockito.never()).findAll();
+    }
+
+    @Test
+    public void testGetCursorPage() {
+        // Se piden size + 1 elementos: si llega el extra, hay página siguiente
+        Mockito.when(repo.findAllBy(any())).thenReturn(Flux.just(
+                new Dish("1", "Soda", 5.9, true), new Dish("2", "Pizza", 9.9, true), new Dish("3", "Tacos", 7.5, true)));
+        Mockito.when(repo.findByIdGreaterThan(any(), any())).thenReturn(Flux.just(new Dish("3", "Tacos", 7.5, true)));
+
+        DishServiceImpl service = new DishServiceImpl(repo, catalog, new DishDtoMapper(), new ObjectMapper());
+
+        StepVerifier.create(service.getCursorPage(null, 2)
+                .flatMap(first -> service.getCursorPage(first.getNext(), 2)))
+                .expectNextMatches(page -> page.getContent().size() == 1 && page.last())
+                .verifyComplete();
+
+        Mockito.verify(repo).findByIdGreaterThan("2", PageRequest.of(0, 3, Sort.by("id")));
+    }
+
+    @Test
+    public void testGetCursorPageValidatesSize() {
+        Mockito.when(repo.findAllBy(any())).thenReturn(Flux.empty());
+
+        DishServiceImpl service = new DishServiceImpl(repo, catalog, new DishDtoMapper(), new ObjectMapper());
+
+        // size < 1 es un error del cliente (400), sin consultar Mongo
+        for (int size : new int[] { 0, -1 }) {
+            StepVerifier.create(service.getCursorPage(null, size))
+                    .expectErrorMatches(e -> e instanceof ResponseStatusException status
+                            && status.getStatusCode() == HttpStatus.BAD_REQUEST)
+                    .verify();
+        }
+        Mockito.verify(repo, Mockito.never()).findAllBy(any());
+
+        // Un size enorme se recorta al máximo (sin overflow en size + 1)
+        StepVerifier.create(service.getCursorPage(null, Integer.MAX_VALUE))
+                .expectNextMatches(page -> page.getPageSize() == 100 && page.last())
+                .verifyComplete();
+        Mockito.verify(repo).findAllBy(PageRequest.of(0, 101, Sort.by("id")));
+    }
+
+    @Test
+    public void testDeleteOfMissingIdReturnsFalse() {
+        // removeById retorna la cantidad eliminada: 0 significa que el id no existía
+        Mockito.when(repo.removeById("1")).thenReturn(Mono.just(1L));
+        Mockito.when(repo.removeById("2")).thenReturn(Mono.just(0L));
+
+        DishServiceImpl service = new DishServiceImpl(repo, catalog, new DishDtoMapper(), new ObjectMapper());
+
+        StepVerifier.create(service.delete("1")).expectNext(true).verifyComplete();
+        StepVerifier.create(service.delete("2")).expectNext(false).verifyComplete();
+
+        // Solo el plato eliminado sale del catálogo
+        Mockito.verify(catalog).remove("1");
+        Mockito.verify(catalog, Mockito.never()).remove("2");
+    }
+
+    @Test
+    public void testFindAllJsonIsReusedUntilTheCatalogChanges() {
+        Mockito.when(catalog.version()).thenReturn(1L);
+        Mockito.when(catalog.findAll()).thenReturn(Flux.just(new Dish("1", "Soda", 5.9, true)));
+
+        DishServiceImpl service = new DishServiceImpl(repo, catalog, new DishDtoMapper(), new ObjectMapper());
+
+        EncodedJson first = service.findAllJson().block();
+        Assertions.assertSame(first, service.findAllJson().block());
+        Assertions.assertEquals("[{\"id\":\"1\",\"nameDish\":\"Soda\",\"priceDish\":5.9,\"statusDish\":true}]",
+                new String(first.json(), StandardCharsets.UTF_8));
+        Mockito.verify(catalog, Mockito.times(1)).findAll();
+
+        // Nuevo snapshot del catálogo: se vuelve a serializar
+        Mockito.when(catalog.version()).thenReturn(2L);
+        Assertions.assertNotSame(first, service.findAllJson().block());
+        Mockito.verify(catalog, Mockito.times(2)).findAll();
+    }
+
+    @Test
+    public void testFindAllJsonEmptyWithoutDishes() {
+        Mockito.when(catalog.version()).thenReturn(1L);
+        Mockito.when(catalog.findAll()).thenReturn(Flux.empty());
+
+        StepVerifier.create(new DishServiceImpl(repo, catalog, new DishDtoMapper(), new ObjectMapper()).findAllJson())
+                .verifyComplete();
+    }
+
 }
@@ -0,0 +1,313 @@
+package com.reactor.reactor.invoices;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.reactor.reactor.catalog.DishCatalog;
+import com.reactor.reactor.configs.MongoConfig;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+import com.reactor.reactor.reports.InvoiceReport;
+import com.reactor.reactor.reports.ReportCache;
+import com.reactor.reactor.reports.ReportJobStore;
+import com.reactor.reactor.reports.ReportRenderExecutor;
+import com.reactor.reactor.reports.ReportTemplateRegistry;
+import com.reactor.reactor.repositories.IClientRepo;
+import com.reactor.reactor.repositories.IInvoiceRepo;
+import com.reactor.reactor.services.ISalesSummaryService;
+import com.reactor.reactor.services.impl.InvoiceServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.sf.jasperreports.engine.JRException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class InvoiceServiceTest {
+
+    private final String invoiceId = new ObjectId().toHexString();
+    private final String clientId = new ObjectId().toHexString();
+    private final String dishId = new ObjectId().toHexString();
+    private final String brokenId = new ObjectId().toHexString();
+    private final String missingId = new ObjectId().toHexString();
+
+    private ReactiveMongoTemplate mongoTemplate;
+    private IClientRepo clientRepo;
+    private DishCatalog dishCatalog;
+    private ReportRenderExecutor renderExecutor;
+    private final Map<String, Document> headers = new HashMap<>();
+    private InvoiceServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        MongoCustomConversions conversions = MongoConfig.mongoCustomConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        context.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        converter.afterPropertiesSet();
+
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollectionName(Invoice.class)).thenReturn("invoices");
+        // Cabecera de la factura según el _id del primer $match ("missingId" no existe)
+        headers.put(invoiceId, header(invoiceId, 1L, 1));
+        headers.put(brokenId, header(brokenId, 1L, 1));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class)))
+                .thenAnswer(invocation -> Mono.justOrEmpty(headers.get(matchedId(invocation.getArgument(0)))).flux());
+
+        ReportTemplateRegistry templates = mock(ReportTemplateRegistry.class);
+        when(templates.get(ReportTemplateRegistry.INVOICE_TEMPLATE))
+                .thenReturn(new ReportTemplateRegistry.ReportTemplate("facturas", "t1", null, 0));
+
+        clientRepo = mock(IClientRepo.class);
+        dishCatalog = mock(DishCatalog.class);
+        givenClient(1L, "Perez");
+        givenDish(1L, 10.0);
+
+        renderExecutor = mock(ReportRenderExecutor.class);
+        service = new InvoiceServiceImpl(mock(IInvoiceRepo.class), clientRepo, dishCatalog, templates,
+                renderExecutor, mock(ReportCache.class), mock(ReportJobStore.class),
+                mock(ISalesSummaryService.class), mongoTemplate);
+        ReflectionTestUtils.setField(service, "zipConcurrency", 1);
+    }
+
+    // Lo que retorna la agregación de cabecera: la factura sin items, con la cantidad de líneas y los platos
+    private Document header(String id, Long version, int itemCount) {
+        return new Document()
+                .append("_id", new ObjectId(id))
+                .append("description", "Invoice")
+                .append("client", new Document("_id", new ObjectId(clientId)))
+                .append("version", version)
+                .append("itemCount", itemCount)
+                .append("dishIds", List.of(new ObjectId(dishId)));
+    }
+
+    private static String matchedId(Aggregation aggregation) {
+        Document match = pipeline(aggregation).get(0).get("$match", Document.class);
+        return match.get("_id", ObjectId.class).toHexString();
+    }
+
+    private static List<Document> pipeline(Aggregation aggregation) {
+        return aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    // Nombre y contenido de cada entrada del ZIP, en orden
+    private static Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private void givenClient(long version, String lastName) {
+        when(clientRepo.findById(clientId)).thenReturn(Mono.just(
+                new Client(clientId, "Ana", lastName, LocalDate.of(1990, 1, 2), null, version)));
+    }
+
+    private void givenDish(long version, double price) {
+        when(dishCatalog.findAllById(any())).thenReturn(Flux.just(new Dish(dishId, "Pizza", price, true, version)));
+    }
+
+    private InvoiceReport prepare() {
+        return service.prepareReport(invoiceId).block();
+    }
+
+    @Test
+    public void testReportVersionFollowsClientAndDishes() {
+        InvoiceReport report = prepare();
+        assertEquals(report.version(), prepare().version());
+        assertEquals("Perez", report.invoice().getClient().getLastName());
+        assertEquals(10.0, report.dishes().get(dishId).getPrice());
+
+        // Una escritura de la factura incrementa su @Version
+        headers.put(invoiceId, header(invoiceId, 2L, 1));
+        String invoiceChanged = prepare().version();
+        assertNotEquals(report.version(), invoiceChanged);
+
+        // El PDF muestra el nombre del cliente: si cambia, cambia el ETag
+        givenClient(2L, "Gomez");
+        String clientChanged = prepare().version();
+        assertNotEquals(invoiceChanged, clientChanged);
+
+        // Mismo caso con el precio de un plato
+        givenDish(2L, 12.5);
+        assertNotEquals(clientChanged, prepare().version());
+    }
+
+    @Test
+    public void testInvoiceIsReadOncePerReport() {
+        prepare();
+
+        // La versión y los datos del PDF salen de la misma lectura de la cabecera
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate, times(1)).aggregate(aggregation.capture(), eq("invoices"), eq(Document.class));
+        verify(clientRepo, times(1)).findById(clientId);
+        verify(dishCatalog, times(1)).findAllById(List.of(dishId));
+
+        // La cabecera no trae los items: Mongo solo calcula cuántos son y qué platos usan
+        Document project = pipeline(aggregation.getValue()).get(1).get("$project", Document.class);
+        assertFalse(project.containsKey("items"));
+        assertEquals(List.of("description", "client", "version", "itemCount", "dishIds"),
+                List.copyOf(project.keySet()));
+    }
+
+    // Servicio con la plantilla real y el pool de reportes real: el llenado consume los items de Mongo
+    private InvoiceServiceImpl rendering(ReportRenderExecutor executor) {
+        ReportTemplateRegistry templates = new ReportTemplateRegistry();
+        templates.afterPropertiesSet();
+        InvoiceServiceImpl rendering = new InvoiceServiceImpl(mock(IInvoiceRepo.class), clientRepo, dishCatalog,
+                templates, executor, mock(ReportCache.class), mock(ReportJobStore.class),
+                mock(ISalesSummaryService.class), mongoTemplate);
+        ReflectionTestUtils.setField(rendering, "itemsPrefetch", 16);
+        ReflectionTestUtils.setField(rendering, "streamChunkSize", 8192);
+        return rendering;
+    }
+
+    private static String join(Flux<DataBuffer> buffers) {
+        return DataBufferUtils.join(buffers)
+                .map(buffer -> {
+                    String content = buffer.toString(StandardCharsets.ISO_8859_1);
+                    DataBufferUtils.release(buffer);
+                    return content;
+                })
+                .block(Duration.ofSeconds(30));
+    }
+
+    @Test
+    public void testItemsAreStreamedFromMongoWhileFilling() {
+        headers.put(invoiceId, header(invoiceId, 3L, 1000));
+        AtomicLong maxRequested = new AtomicLong();
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(InvoiceDetail.class)))
+                .thenReturn(Flux.range(0, 1000)
+                        .map(i -> new InvoiceDetail(i + 1, new Dish(dishId, null, null, null)))
+                        .doOnRequest(n -> maxRequested.accumulateAndGet(n, Math::max)));
+
+        ReportRenderExecutor executor = new ReportRenderExecutor(1, 1, 5, new SimpleMeterRegistry());
+        try {
+            InvoiceServiceImpl rendering = rendering(executor);
+            InvoiceReport report = rendering.prepareReport(invoiceId).block();
+            assertNull(report.invoice().getItems());
+            assertEquals(1000, report.itemCount());
+
+            String pdf = join(rendering.generateReport(report, DefaultDataBufferFactory.sharedInstance));
+            assertTrue(pdf.startsWith("%PDF"));
+        } finally {
+            executor.destroy();
+        }
+
+        // Las líneas se piden de a lotes (prefetch), nunca toda la factura
+        assertTrue(maxRequested.get() <= 16, String.valueOf(maxRequested.get()));
+
+        // Un $unwind de la misma versión de la factura, con lotes del cursor del tamaño del prefetch
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("invoices"), eq(InvoiceDetail.class));
+        List<Document> pipeline = pipeline(aggregation.getValue());
+        assertEquals(new Document("_id", new ObjectId(invoiceId)).append("version", 3L),
+                pipeline.get(0).get("$match"));
+        assertEquals("$items", pipeline.get(1).get("$unwind"));
+        assertEquals(16, aggregation.getValue().getOptions().getCursorBatchSize());
+    }
+
+    // El error del Flux de items llega envuelto por Jasper y por la exportación
+    private static boolean causedBy(Throwable e, String message) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (String.valueOf(cause.getMessage()).contains(message)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testReportFailsWhenTheInvoiceChangesWhileFilling() {
+        // La cabecera dice 3 líneas pero la versión ya no existe: el $match por versión no trae ninguna
+        headers.put(invoiceId, header(invoiceId, 3L, 3));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("invoices"), eq(InvoiceDetail.class)))
+                .thenReturn(Flux.empty());
+
+        ReportRenderExecutor executor = new ReportRenderExecutor(1, 1, 5, new SimpleMeterRegistry());
+        try {
+            InvoiceServiceImpl rendering = rendering(executor);
+            InvoiceReport report = rendering.prepareReport(invoiceId).block();
+
+            StepVerifier.create(rendering.generateReport(report, DefaultDataBufferFactory.sharedInstance))
+                    .thenConsumeWhile(buffer -> true)
+                    .expectErrorMatches(e -> causedBy(e, "changed while its report was generated"))
+                    .verify(Duration.ofSeconds(30));
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testZipListsFailedInvoicesInsteadOfDroppingThem() throws IOException {
+        when(renderExecutor.render(any())).thenReturn(
+                Mono.just("%PDF-1.4".getBytes(StandardCharsets.UTF_8)),
+                Mono.error(new JRException("Template error")));
+
+        byte[] zip = DataBufferUtils.join(service.generateReportZip(List.of(invoiceId, brokenId, missingId), null,
+                DefaultDataBufferFactory.sharedInstance))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block();
+
+        // El ZIP se entrega igual, pero las facturas que faltan quedan informadas con su motivo
+        Map<String, String> entries = unzip(zip);
+        assertEquals(List.of("invoice-" + invoiceId + ".pdf", "errors.txt"), List.copyOf(entries.keySet()));
+        assertEquals("%PDF-1.4", entries.get("invoice-" + invoiceId + ".pdf"));
+        assertEquals(brokenId + ": Template error\n" + missingId + ": Invoice not found\n", entries.get("errors.txt"));
+        assertNull(entries.get("invoice-" + brokenId + ".pdf"));
+    }
+
+}
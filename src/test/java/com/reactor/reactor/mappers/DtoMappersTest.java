@@ -0,0 +1,73 @@
+package com.reactor.reactor.mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.reactor.reactor.configs.MapperConfig;
+import com.reactor.reactor.dtos.ClientDTO;
+import com.reactor.reactor.dtos.DishDTO;
+import com.reactor.reactor.dtos.InvoiceDTO;
+import com.reactor.reactor.dtos.InvoiceDetailDTO;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+
+// Los mappers deben producir exactamente lo mismo que los ModelMapper de MapperConfig
+public class DtoMappersTest {
+
+    private final ModelMapper defaultMapper = new MapperConfig().defaultMapper();
+    private final ModelMapper clientMapper = new MapperConfig().clientMapper();
+
+    private final DishDtoMapper dishMapper = new DishDtoMapper();
+    private final ClientDtoMapper clientMapperCompiled = new ClientDtoMapper();
+    private final InvoiceDtoMapper invoiceMapper = new InvoiceDtoMapper(dishMapper);
+
+    private final Dish dish = new Dish("d1", "Pizza", 29.9, true, 3L);
+    private final Client client = new Client("c1", "Ana", "Perez", LocalDate.of(1990, 1, 2), "http://photo", 4L);
+
+    @Test
+    public void testDish() {
+        assertEquals(defaultMapper.map(dish, DishDTO.class), dishMapper.toDto(dish));
+
+        DishDTO dto = new DishDTO("d1", "Pizza", 29.9, true, 3L);
+        assertEquals(defaultMapper.map(dto, Dish.class).toString(), dishMapper.toDocument(dto).toString());
+    }
+
+    @Test
+    public void testClient() {
+        assertEquals(clientMapper.map(client, ClientDTO.class), clientMapperCompiled.toDto(client));
+
+        ClientDTO dto = new ClientDTO("c1", "Ana", "Perez", LocalDate.of(1990, 1, 2), "http://photo", 4L);
+        assertEquals(clientMapper.map(dto, Client.class).toString(), clientMapperCompiled.toDocument(dto).toString());
+    }
+
+    @Test
+    public void testInvoice() {
+        Invoice invoice = new Invoice("i1", "Cena", client,
+                List.of(new InvoiceDetail(2, dish), new InvoiceDetail(1, new Dish("d2", "Soda", 2.5, false))));
+        assertEquals(defaultMapper.map(invoice, InvoiceDTO.class), invoiceMapper.toDto(invoice));
+
+        InvoiceDTO dto = new InvoiceDTO("i1", "Cena",
+                new ClientDTO("c1", "Ana", "Perez", LocalDate.of(1990, 1, 2), "http://photo", 4L),
+                List.of(new InvoiceDetailDTO(2, new DishDTO("d1", "Pizza", 29.9, true, 3L))));
+        assertEquals(defaultMapper.map(dto, Invoice.class).toString(), invoiceMapper.toDocument(dto).toString());
+    }
+
+    @Test
+    public void testInvoiceWithoutClientNorItems() {
+        Invoice invoice = new Invoice("i1", "Vacía", null, null);
+        InvoiceDTO dto = invoiceMapper.toDto(invoice);
+
+        assertEquals(defaultMapper.map(invoice, InvoiceDTO.class), dto);
+        assertNull(dto.getClient());
+        assertNull(dto.getItems());
+    }
+
+}
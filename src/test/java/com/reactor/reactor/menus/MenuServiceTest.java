@@ -0,0 +1,62 @@
+package com.reactor.reactor.menus;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactor.reactor.models.Menu;
+import com.reactor.reactor.repositories.IMenuRepo;
+import com.reactor.reactor.services.impl.MenuServiceImpl;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class MenuServiceTest {
+
+    private IMenuRepo repo;
+    private MenuServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        repo = mock(IMenuRepo.class);
+        when(repo.getMenus(any(String[].class))).thenReturn(Flux.just(
+                new Menu("1", "home", "Inicio", "/home", List.of("ADMIN", "USER"))));
+        service = new MenuServiceImpl(repo, new ObjectMapper());
+    }
+
+    @Test
+    public void testSameRoleSetIsServedFromCache() {
+        StepVerifier.create(service.getMenusJson(List.of("USER", "ADMIN")).map(json -> new String(json,
+                StandardCharsets.UTF_8)))
+                .expectNextMatches(json -> json.startsWith("[{\"id\":\"1\""))
+                .verifyComplete();
+        // Mismo conjunto en otro orden y con repetidos
+        StepVerifier.create(service.getMenusJson(List.of("ADMIN", "USER", "ADMIN"))).expectNextCount(1)
+                .verifyComplete();
+
+        verify(repo, times(1)).getMenus(any(String[].class));
+    }
+
+    @Test
+    public void testWriteInvalidatesCache() {
+        Menu menu = new Menu("2", "dish", "Platos", "/dishes", List.of("ADMIN"));
+        when(repo.save(menu)).thenReturn(Mono.just(menu));
+
+        StepVerifier.create(service.getMenusJson(List.of("ADMIN"))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.save(menu)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.getMenusJson(List.of("ADMIN"))).expectNextCount(1).verifyComplete();
+
+        verify(repo, times(2)).getMenus(any(String[].class));
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.reactor.reactor.paginations;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+
+import com.reactor.reactor.batches.BatchResult;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.repositories.IGenericRepo;
+import com.reactor.reactor.services.impl.CRUDImpl;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+// totalElements de getPage según el CountMode del servicio
+public class CountModeTest {
+
+    @SuppressWarnings("unchecked")
+    private final IGenericRepo<Dish, String> repo = Mockito.mock(IGenericRepo.class);
+
+    // Servicio mínimo sobre CRUDImpl con el CountMode a probar
+    private class Service extends CRUDImpl<Dish, String> {
+
+        private final CountMode mode;
+
+        Service(CountMode mode) {
+            this.mode = mode;
+        }
+
+        @Override
+        protected IGenericRepo<Dish, String> getRepo() {
+            return repo;
+        }
+
+        @Override
+        protected CountMode getCountMode() {
+            return mode;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(repo.findAllBy(any())).thenReturn(Flux.empty());
+    }
+
+    private static void expectTotal(Service service, long total, boolean approximate) {
+        StepVerifier.create(service.getPage(PageRequest.of(0, 10)))
+                .expectNextMatches(page -> page.getTotalElements() == total && page.isApproximate() == approximate)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExactCountsEveryPage() {
+        Mockito.when(repo.count()).thenReturn(Mono.just(7L), Mono.just(8L));
+        Service service = new Service(CountMode.EXACT);
+
+        expectTotal(service, 7, false);
+        expectTotal(service, 8, false);
+        Mockito.verify(repo, Mockito.never()).estimatedCount();
+    }
+
+    @Test
+    public void testEstimatedUsesCollectionMetadata() {
+        Mockito.when(repo.estimatedCount()).thenReturn(Mono.just(1000L));
+
+        expectTotal(new Service(CountMode.ESTIMATED), 1000, true);
+        Mockito.verify(repo, Mockito.never()).count();
+    }
+
+    @Test
+    public void testCachedIsReusedUntilAWrite() {
+        Mockito.when(repo.count()).thenReturn(Mono.just(7L), Mono.just(8L), Mono.just(6L));
+        Mockito.when(repo.save(any())).thenReturn(Mono.just(new Dish()));
+        Mockito.when(repo.removeById(any())).thenReturn(Mono.just(1L));
+        Service service = new Service(CountMode.CACHED);
+
+        // El primer count es exacto; los siguientes salen de la caché (aproximados)
+        expectTotal(service, 7, false);
+        expectTotal(service, 7, true);
+        Mockito.verify(repo, Mockito.times(1)).count();
+
+        service.save(new Dish()).block();
+        expectTotal(service, 8, false);
+
+        service.delete("1").block();
+        expectTotal(service, 6, false);
+        Mockito.verify(repo, Mockito.times(3)).count();
+    }
+
+    @Test
+    public void testCachedIsInvalidatedByBulkOperations() {
+        Mockito.when(repo.count()).thenReturn(Mono.just(7L), Mono.just(9L), Mono.just(8L), Mono.just(5L));
+        Mockito.when(repo.bulkInsert(any(), anyInt(), anyBoolean())).thenReturn(Mono.just(new BatchResult()));
+        Mockito.when(repo.bulkRemove(any(), anyInt(), anyBoolean()))
+                .thenReturn(Mono.just(new BatchResult()), Mono.error(new IllegalStateException("Bulk write failed")));
+        Service service = new Service(CountMode.CACHED);
+
+        expectTotal(service, 7, false);
+        service.saveAll(List.of(new Dish(), new Dish()), true).block();
+        expectTotal(service, 9, false);
+        service.deleteAll(List.of("1"), true).block();
+        expectTotal(service, 8, false);
+
+        // Un bulk que falla a mitad de camino pudo eliminar los chunks anteriores
+        StepVerifier.create(service.deleteAll(List.of("2", "3"), true)).expectError().verify();
+        expectTotal(service, 5, false);
+    }
+
+    @Test
+    public void testCachedDiscardsCountThatRacedWithAWrite() {
+        Sinks.One<Long> inFlight = Sinks.one();
+        Mockito.when(repo.count()).thenReturn(inFlight.asMono(), Mono.just(8L));
+        Mockito.when(repo.save(any())).thenReturn(Mono.just(new Dish()));
+        Service service = new Service(CountMode.CACHED);
+
+        // El count empieza, la escritura termina y luego llega el total anterior a ella
+        StepVerifier.create(service.getPage(PageRequest.of(0, 10)))
+                .then(() -> service.save(new Dish()).block())
+                .then(() -> inFlight.tryEmitValue(7L))
+                .expectNextMatches(page -> page.getTotalElements() == 7)
+                .verifyComplete();
+
+        // Ese total no queda en caché: la siguiente página vuelve a contar
+        expectTotal(service, 8, false);
+        Mockito.verify(repo, Mockito.times(2)).count();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.reactor.reactor.reports;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+public class CappedCopyOutputStreamTest {
+
+    @Test
+    public void testCopiesWhileUnderLimit() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        CappedCopyOutputStream out = new CappedCopyOutputStream(target, 4);
+        out.write(new byte[] { 1, 2, 3 });
+        out.write(4);
+
+        assertArrayEquals(new byte[] { 1, 2, 3, 4 }, target.toByteArray());
+        assertArrayEquals(new byte[] { 1, 2, 3, 4 }, out.toByteArray());
+    }
+
+    @Test
+    public void testDropsCopyOverLimitButKeepsWriting() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        CappedCopyOutputStream out = new CappedCopyOutputStream(target, 4);
+        out.write(new byte[] { 1, 2, 3 });
+        out.write(new byte[] { 4, 5 });
+
+        // El destino recibe todo aunque la copia se haya descartado
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5 }, target.toByteArray());
+        assertNull(out.toByteArray());
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.reactor.reactor.reports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.InvoiceDetail;
+
+import net.sf.jasperreports.engine.design.JRDesignField;
+import reactor.core.publisher.Flux;
+
+public class ReactiveBeanDataSourceTest {
+
+    private static JRDesignField field(String name) {
+        JRDesignField field = new JRDesignField();
+        field.setName(name);
+        return field;
+    }
+
+    @Test
+    public void testReadsBeansLazilyWithBoundedPrefetch() throws Exception {
+        AtomicLong requested = new AtomicLong();
+        Flux<InvoiceDetail> items = Flux.range(1, 1000)
+                .map(i -> new InvoiceDetail(i, new Dish("d" + i, "Dish " + i, 1.0, true)))
+                .doOnRequest(requested::addAndGet);
+
+        try (ReactiveBeanDataSource<InvoiceDetail> dataSource = new ReactiveBeanDataSource<>(items, 8)) {
+            assertTrue(dataSource.next());
+            assertEquals(1, dataSource.getFieldValue(field("quantity")));
+            assertEquals("Dish 1", ((Dish) dataSource.getFieldValue(field("dish"))).getName());
+
+            // Solo se pidió la ventana de prefetch, no los 1000 elementos
+            assertTrue(requested.get() <= 16);
+        }
+    }
+
+    @Test
+    public void testCloseCancelsSource() throws Exception {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flux<InvoiceDetail> items = Flux.range(1, 1000)
+                .map(i -> new InvoiceDetail(i, null))
+                .doOnCancel(() -> cancelled.set(true));
+
+        ReactiveBeanDataSource<InvoiceDetail> dataSource = new ReactiveBeanDataSource<>(items, 8);
+        assertTrue(dataSource.next());
+        dataSource.close();
+
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void testEmptySource() {
+        try (ReactiveBeanDataSource<InvoiceDetail> dataSource = new ReactiveBeanDataSource<>(Flux.empty(), 8)) {
+            assertFalse(dataSource.next());
+        }
+    }
+
+}
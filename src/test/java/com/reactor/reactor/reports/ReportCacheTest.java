@@ -0,0 +1,45 @@
+package com.reactor.reactor.reports;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ReportCacheTest {
+
+    @Test
+    public void testVersionMismatchIsMiss() {
+        ReportCache cache = new ReportCache(100, new SimpleMeterRegistry());
+        cache.put("1", "v1", new byte[] { 1, 2, 3 });
+
+        // Misma factura con otra versión del contenido: se debe volver a generar
+        assertArrayEquals(new byte[] { 1, 2, 3 }, cache.get("1", "v1"));
+        assertNull(cache.get("1", "v2"));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedWhenFull() {
+        ReportCache cache = new ReportCache(10, new SimpleMeterRegistry());
+        cache.put("1", "v1", new byte[4]);
+        cache.put("2", "v1", new byte[4]);
+        cache.get("1", "v1"); // "2" queda como el menos usado
+        cache.put("3", "v1", new byte[4]);
+
+        assertNotNull(cache.get("1", "v1"));
+        assertNull(cache.get("2", "v1"));
+        assertNotNull(cache.get("3", "v1"));
+    }
+
+    @Test
+    public void testEvictById() {
+        ReportCache cache = new ReportCache(10, new SimpleMeterRegistry());
+        cache.put("1", "v1", new byte[4]);
+        cache.evict("1");
+
+        assertNull(cache.get("1", "v1"));
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.reactor.reactor.reports;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+public class ReportJobStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ReportJobStore store;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        store = new ReportJobStore(directory, Duration.ofMinutes(30));
+        store.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.destroy();
+    }
+
+    private static DataBuffer buffer(byte... bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneJob() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        Sinks.Many<DataBuffer> pdf = Sinks.many().unicast().onBackpressureBuffer();
+
+        ReportJob first = store.submit("1", "v1", job -> {
+            renders.incrementAndGet();
+            return pdf.asFlux();
+        });
+        ReportJob second = store.submit("1", "v1", job -> {
+            renders.incrementAndGet();
+            return Flux.empty();
+        });
+
+        assertSame(first, second);
+        assertEquals(ReportJobStatus.RUNNING, first.getStatus());
+
+        pdf.tryEmitNext(buffer((byte) 1, (byte) 2));
+        pdf.tryEmitComplete();
+        waitFor(first);
+
+        assertEquals(1, renders.get());
+        assertEquals(ReportJobStatus.DONE, first.getStatus());
+        assertEquals(2, first.getBytesWritten());
+        assertArrayEquals(new byte[] { 1, 2 }, Files.readAllBytes(first.getFile()));
+    }
+
+    @Test
+    public void testNewVersionOrFailureStartsNewJob() throws Exception {
+        ReportJob failed = store.submit("1", "v1", job -> Flux.error(new IllegalStateException("boom")));
+        waitFor(failed);
+        assertEquals(ReportJobStatus.FAILED, failed.getStatus());
+
+        ReportJob retried = store.submit("1", "v1", job -> Flux.just(buffer((byte) 1)));
+        ReportJob otherVersion = store.submit("1", "v2", job -> Flux.just(buffer((byte) 2)));
+
+        assertNotSame(failed, retried);
+        assertNotSame(retried, otherVersion);
+    }
+
+    @Test
+    public void testMissingOrExpiredFileStartsNewJob() throws Exception {
+        ReportJob done = store.submit("1", "v1", job -> Flux.just(buffer((byte) 1)));
+        waitFor(done);
+        assertSame(done, store.submit("1", "v1", job -> Flux.empty()));
+
+        // El archivo desaparece fuera de la aplicación: la limpieza lo detecta (fuera del event loop)
+        Files.delete(done.getFile());
+        assertSame(done, store.submit("1", "v1", job -> Flux.empty()));
+        store.removeExpired();
+        ReportJob rerun = store.submit("1", "v1", job -> Flux.just(buffer((byte) 2)));
+        assertNotSame(done, rerun);
+        waitFor(rerun);
+
+        // Trabajo vencido: se elimina su archivo y la siguiente solicitud genera uno nuevo
+        ReportJobStore expiring = new ReportJobStore(directory, Duration.ofMillis(1));
+        ReportJob expired = expiring.submit("2", "v1", job -> Flux.just(buffer((byte) 3)));
+        waitFor(expired);
+        Thread.sleep(5);
+        expiring.removeExpired();
+        assertFalse(expired.isFileAvailable());
+        assertFalse(Files.exists(expired.getFile()));
+        assertNotSame(expired, expiring.submit("2", "v1", job -> Flux.just(buffer((byte) 4))));
+    }
+
+    private static void waitFor(ReportJob job) throws InterruptedException {
+        for (int i = 0; i < 100 && !job.isFinished(); i++) {
+            Thread.sleep(20);
+        }
+    }
+
+}
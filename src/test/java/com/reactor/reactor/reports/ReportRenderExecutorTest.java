@@ -0,0 +1,90 @@
+package com.reactor.reactor.reports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.reactor.reactor.exceptions.RetryLaterException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+public class ReportRenderExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReportRenderExecutor executor = new ReportRenderExecutor(1, 1, 5, registry);
+
+    @AfterEach
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    public void testStreamWritesOnTheRenderPool() {
+        AtomicReference<String> thread = new AtomicReference<>();
+
+        Flux<String> chunks = executor.stream(out -> {
+            thread.set(Thread.currentThread().getName());
+            try {
+                out.write("%PDF-1.4".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, DefaultDataBufferFactory.sharedInstance, 4)
+                .map(buffer -> {
+                    String chunk = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return chunk;
+                });
+
+        StepVerifier.create(chunks.reduce(String::concat)).expectNext("%PDF-1.4").verifyComplete();
+
+        // La exportación no corre en boundedElastic sino en el pool acotado y medido
+        assertTrue(thread.get().startsWith("report-render"), thread.get());
+        assertEquals(1, registry.get("reports.render.time").timer().count());
+    }
+
+    @Test
+    public void testStreamIsRejectedWhenThePoolIsSaturated() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Un export ocupa el único hilo y otro espera en la cola (capacidad 1)
+        Disposable first = executor.stream(out -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, DefaultDataBufferFactory.sharedInstance, 1024).subscribe();
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Disposable second = executor.stream(out -> {
+        }, DefaultDataBufferFactory.sharedInstance, 1024).subscribe();
+
+        StepVerifier.create(executor.stream(out -> {
+        }, DefaultDataBufferFactory.sharedInstance, 1024))
+                .expectError(RetryLaterException.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1.0, registry.get("reports.render.rejected").counter().count());
+
+        release.countDown();
+        first.dispose();
+        second.dispose();
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.reactor.reactor.reports;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+
+// Hot reload de plantillas con un .jasper precompilado y un jrxml en el classpath
+public class ReportTemplateRegistryTest {
+
+    private static final String NAME = "hot-reload-template";
+
+    @TempDir
+    Path dir;
+
+    private ClassLoader original;
+    private ReportTemplateRegistry registry;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Path jrxml = dir.resolve(NAME + ".jrxml");
+        try (InputStream stream = getClass().getResourceAsStream("/facturas.jrxml")) {
+            Files.copy(stream, jrxml);
+        }
+        JasperCompileManager.compileReportToFile(jrxml.toString(), dir.resolve(NAME + ".jasper").toString());
+
+        // El jrxml se editó después de generar el .jasper
+        touch(NAME + ".jasper", Instant.now().minusSeconds(60));
+        touch(NAME + ".jrxml", Instant.now().minusSeconds(30));
+
+        // ClassPathResource usa el class loader del hilo: se agrega la carpeta temporal al classpath
+        original = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[] { dir.toUri().toURL() }, original));
+
+        registry = new ReportTemplateRegistry();
+        ReflectionTestUtils.setField(registry, "hotReload", true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Thread.currentThread().setContextClassLoader(original);
+    }
+
+    private void touch(String file, Instant time) throws Exception {
+        Files.setLastModifiedTime(dir.resolve(file), FileTime.from(time));
+    }
+
+    @Test
+    public void testNewerJrxmlIsCompiledOnceAndKept() {
+        ReportTemplateRegistry.ReportTemplate template = registry.get(NAME);
+
+        // Sin cambios en los archivos se reutiliza la misma plantilla (no se recompila en cada get)
+        assertSame(template, registry.get(NAME));
+        assertSame(template, registry.get(NAME));
+    }
+
+    @Test
+    public void testEditAfterLoadingRecompiles() throws Exception {
+        ReportTemplateRegistry.ReportTemplate template = registry.get(NAME);
+
+        Files.writeString(dir.resolve(NAME + ".jrxml"),
+                Files.readString(dir.resolve(NAME + ".jrxml")).replace("</jasperReport>",
+                        "<!-- edited --></jasperReport>"));
+        touch(NAME + ".jrxml", Instant.now());
+
+        ReportTemplateRegistry.ReportTemplate reloaded = registry.get(NAME);
+        assertNotSame(template, reloaded);
+        assertNotEquals(template.version(), reloaded.version());
+        assertSame(reloaded, registry.get(NAME));
+    }
+
+}
@@ -0,0 +1,281 @@
+package com.reactor.reactor.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MappingMongoEntityInformation;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.reactor.reactor.batches.BatchItemResult;
+import com.reactor.reactor.batches.BatchResult;
+import com.reactor.reactor.batches.BatchStatus;
+import com.reactor.reactor.configs.MongoConfig;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.repositories.impl.GenericRepoImpl;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+// Escrituras por id y operaciones masivas de GenericRepoImpl contra un ReactiveMongoOperations simulado
+public class GenericRepoImplTest {
+
+    private final ReactiveMongoOperations operations = Mockito.mock(ReactiveMongoOperations.class);
+    private final ReactiveBulkOperations bulk = Mockito.mock(ReactiveBulkOperations.class);
+    private GenericRepoImpl<Dish, String> repo;
+
+    private final String id1 = new ObjectId().toHexString();
+    private final String id2 = new ObjectId().toHexString();
+    private final String id3 = new ObjectId().toHexString();
+    private final String id4 = new ObjectId().toHexString();
+
+    @BeforeEach
+    public void setUp() {
+        // Mismo armado que hace Spring Boot con las conversiones y el MappingContext
+        MongoCustomConversions conversions = MongoConfig.mongoCustomConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        context.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.setTypeMapper(new DefaultMongoTypeMapper(null));
+        converter.afterPropertiesSet();
+
+        @SuppressWarnings("unchecked")
+        MongoPersistentEntity<Dish> entity = (MongoPersistentEntity<Dish>) context.getRequiredPersistentEntity(Dish.class);
+        Mockito.when(operations.getConverter()).thenReturn(converter);
+        Mockito.when(operations.bulkOps(any(BulkMode.class), eq(Dish.class), eq("dishes"))).thenReturn(bulk);
+
+        repo = new GenericRepoImpl<>(new MappingMongoEntityInformation<>(entity), operations);
+    }
+
+    private static BulkWriteResult acknowledged(int inserted, int matched, int removed) {
+        return BulkWriteResult.acknowledged(inserted, matched, removed, matched, List.of(), List.of());
+    }
+
+    // Mongo rechaza el elemento "index" del chunk por clave duplicada
+    private static BulkOperationException duplicateKey(int index, int inserted) {
+        BulkWriteError error = new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), index);
+        return new BulkOperationException("Bulk write failed", new MongoBulkWriteException(
+                acknowledged(inserted, 0, 0), List.of(error), null, new ServerAddress(), Set.of()));
+    }
+
+    private static Document stored(String id, long version) {
+        return new Document("_id", new ObjectId(id)).append("version", version);
+    }
+
+    private static List<BatchStatus> statuses(BatchResult result) {
+        return result.getItems().stream().map(BatchItemResult::getStatus).toList();
+    }
+
+    private List<Dish> dishes(String... ids) {
+        return Arrays.stream(ids).map(id -> new Dish(id, "Pizza", 9.9, true)).toList();
+    }
+
+    @Test
+    public void testBulkInsertOrderedStopsAtDuplicateKey() {
+        Mockito.when(bulk.execute()).thenReturn(Mono.error(duplicateKey(1, 1)));
+
+        StepVerifier.create(repo.bulkInsert(dishes(null, null, null, null), 2, true))
+                .assertNext(result -> {
+                    assertEquals(List.of(BatchStatus.OK, BatchStatus.FAILED, BatchStatus.SKIPPED, BatchStatus.SKIPPED),
+                            statuses(result));
+                    assertEquals("E11000 duplicate key", result.getItems().get(1).getError());
+                    assertEquals(3, result.failed());
+                })
+                .verifyComplete();
+
+        // El segundo chunk no llega a Mongo
+        Mockito.verify(bulk, Mockito.times(1)).execute();
+    }
+
+    @Test
+    public void testBulkInsertUnorderedContinuesAfterDuplicateKey() {
+        Mockito.when(bulk.execute()).thenReturn(Mono.error(duplicateKey(0, 1)), Mono.just(acknowledged(2, 0, 0)));
+
+        StepVerifier.create(repo.bulkInsert(dishes(id1, id2, null, null), 2, false))
+                .assertNext(result -> {
+                    assertEquals(List.of(BatchStatus.FAILED, BatchStatus.OK, BatchStatus.OK, BatchStatus.OK),
+                            statuses(result));
+                    assertEquals(3, result.getInserted());
+                    // Los ids generados se informan en el resultado
+                    assertEquals(id2, result.getItems().get(1).getId());
+                    assertEquals(4, result.getItems().stream().map(BatchItemResult::getId).distinct().count());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testBulkReplaceReportsStaleVersionAndMissingId() {
+        List<Dish> list = dishes(id1, id2, id3);
+        list.get(0).setVersion(1L); // Versión vigente: se aplica y queda en 2
+        list.get(1).setVersion(1L); // En Mongo ya está en la versión 5
+        list.get(2).setVersion(0L); // No existe
+
+        // Ordenado, chunks de 2: un conflicto no es un error de escritura y no detiene el resto
+        Mockito.when(bulk.execute()).thenReturn(Mono.just(acknowledged(0, 1, 0)), Mono.just(acknowledged(0, 0, 0)));
+        Mockito.when(operations.find(any(Query.class), eq(Document.class), eq("dishes")))
+                .thenReturn(Flux.just(stored(id1, 2), stored(id2, 5)), Flux.empty());
+
+        StepVerifier.create(repo.bulkReplace(list, 2, true))
+                .assertNext(result -> {
+                    assertEquals(List.of(BatchStatus.OK, BatchStatus.CONFLICT, BatchStatus.NOT_FOUND),
+                            statuses(result));
+                    assertEquals(1, result.getMatched());
+                    assertEquals(2, result.failed());
+                })
+                .verifyComplete();
+
+        Mockito.verify(bulk, Mockito.times(2)).execute();
+    }
+
+    @Test
+    public void testBulkReplaceWithoutMismatchSkipsLookup() {
+        List<Dish> list = dishes(id1, id2);
+        Mockito.when(bulk.execute()).thenReturn(Mono.just(acknowledged(0, 2, 0)));
+
+        StepVerifier.create(repo.bulkReplace(list, 10, false))
+                .assertNext(result -> assertEquals(List.of(BatchStatus.OK, BatchStatus.OK), statuses(result)))
+                .verifyComplete();
+
+        Mockito.verify(operations, Mockito.never()).find(any(Query.class), eq(Document.class), any(String.class));
+    }
+
+    @Test
+    public void testBulkRemoveReportsMissingIds() {
+        Mockito.when(operations.find(any(Query.class), eq(Document.class), eq("dishes")))
+                .thenReturn(Flux.just(stored(id1, 0), stored(id3, 2)));
+        Mockito.when(bulk.execute()).thenReturn(Mono.just(acknowledged(0, 0, 2)));
+
+        StepVerifier.create(repo.bulkRemove(List.of(id1, id2, id3, id4), 10, false))
+                .assertNext(result -> {
+                    assertEquals(List.of(BatchStatus.OK, BatchStatus.NOT_FOUND, BatchStatus.OK, BatchStatus.NOT_FOUND),
+                            statuses(result));
+                    assertEquals(2, result.getDeleted());
+                })
+                .verifyComplete();
+
+        // La consulta previa usa los ids como ObjectId (como están guardados) y solo trae _id/versión
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(operations).find(query.capture(), eq(Document.class), eq("dishes"));
+        assertEquals(new ObjectId(id1), query.getValue().getQueryObject().get("_id", Document.class)
+                .getList("$in", Object.class).get(0));
+        assertEquals(new Document("_id", 1).append("version", 1), query.getValue().getFieldsObject());
+    }
+
+    @Test
+    public void testBulkRemoveOrderedStopsAtWriteError() {
+        Mockito.when(operations.find(any(Query.class), eq(Document.class), eq("dishes")))
+                .thenReturn(Flux.just(stored(id1, 0), stored(id2, 0)));
+        Mockito.when(bulk.execute()).thenReturn(Mono.error(duplicateKey(0, 0)));
+
+        StepVerifier.create(repo.bulkRemove(List.of(id1, id2, id3), 2, true))
+                .assertNext(result -> assertEquals(
+                        List.of(BatchStatus.FAILED, BatchStatus.SKIPPED, BatchStatus.SKIPPED), statuses(result)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testFindAndReplaceReturnsPreviousDocumentAndBumpsVersion() {
+        Dish previous = new Dish(id1, "Pizza", 8.5, true, 3L);
+        Dish dish = new Dish(null, "Pizza", 9.9, true, 3L);
+        Mockito.when(operations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Dish.class), eq("dishes"))).thenReturn(Mono.just(previous));
+
+        StepVerifier.create(repo.findAndReplaceById(id1, dish))
+                .expectNext(previous)
+                .verifyComplete();
+
+        // Una sola operación: el pre-image sale de la misma escritura (returnNew = false)
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        Mockito.verify(operations).findAndModify(any(Query.class), any(Update.class), options.capture(),
+                eq(Dish.class), eq("dishes"));
+        assertEquals(false, options.getValue().isReturnNew());
+        assertEquals(id1, dish.getId());
+        assertEquals(4L, dish.getVersion());
+    }
+
+    @Test
+    public void testFindAndRemoveReturnsRemovedDocument() {
+        Dish removed = new Dish(id1, "Pizza", 8.5, true, 3L);
+        Mockito.when(operations.findAndRemove(any(Query.class), eq(Dish.class), eq("dishes")))
+                .thenReturn(Mono.just(removed), Mono.empty());
+
+        StepVerifier.create(repo.findAndRemoveById(id1)).expectNext(removed).verifyComplete();
+        StepVerifier.create(repo.findAndRemoveById(id1)).verifyComplete();
+    }
+
+    @Test
+    public void testReplaceWithStaleVersionIsAConflict() {
+        Dish dish = new Dish(null, "Pizza", 9.9, true, 1L);
+        Mockito.when(operations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Dish.class), eq("dishes"))).thenReturn(Mono.empty());
+        Mockito.when(operations.exists(any(Query.class), eq(Dish.class), eq("dishes"))).thenReturn(Mono.just(true));
+
+        // El documento existe pero no en la versión 1: WebExceptionHandler responde 409
+        StepVerifier.create(repo.replaceIfExists(id1, dish))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+
+        // La versión esperada es parte del filtro de la misma escritura
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        Mockito.verify(operations).findAndModify(query.capture(), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Dish.class), eq("dishes"));
+        assertEquals(1L, query.getValue().getQueryObject().get("version"));
+    }
+
+    @Test
+    public void testReplaceOfMissingIdIsEmpty() {
+        Mockito.when(operations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Dish.class), eq("dishes"))).thenReturn(Mono.empty());
+        Mockito.when(operations.exists(any(Query.class), eq(Dish.class), eq("dishes"))).thenReturn(Mono.just(false));
+
+        // Con o sin versión, un id inexistente termina vacío (el controlador responde 404)
+        StepVerifier.create(repo.replaceIfExists(id1, new Dish(null, "Pizza", 9.9, true, 1L))).verifyComplete();
+        StepVerifier.create(repo.replaceIfExists(id2, new Dish(null, "Pizza", 9.9, true))).verifyComplete();
+
+        // Sin versión no hay conflicto posible: no se consulta si el documento existe
+        Mockito.verify(operations, Mockito.times(1)).exists(any(Query.class), eq(Dish.class), eq("dishes"));
+    }
+
+    @Test
+    public void testRemoveByIdReturnsDeletedCount() {
+        Mockito.when(operations.remove(any(Query.class), eq(Dish.class), eq("dishes")))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(1)), Mono.just(DeleteResult.acknowledged(0)));
+
+        StepVerifier.create(repo.removeById(id1)).expectNext(1L).verifyComplete();
+        // Id inexistente: 0 eliminados (el servicio retorna false y el controlador 404)
+        StepVerifier.create(repo.removeById(id1)).expectNext(0L).verifyComplete();
+    }
+
+}
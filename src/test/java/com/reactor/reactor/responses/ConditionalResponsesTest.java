@@ -0,0 +1,68 @@
+package com.reactor.reactor.responses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reactor.reactor.dtos.DishDTO;
+
+public class ConditionalResponsesTest {
+
+    private final ConditionalResponses conditional = new ConditionalResponses(new ObjectMapper(),
+            new MockEnvironment().withProperty("app.http.cache-control.dishes", "private, max-age=30"));
+
+    private final DishDTO dish = new DishDTO("1", "Soda", 2.5, true, 3L);
+
+    private static MockServerWebExchange get(String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/dishes/1");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return MockServerWebExchange.from(request);
+    }
+
+    @Test
+    public void testETagFromVersionAndRouteCacheControl() {
+        ResponseEntity<DishDTO> response = conditional.ok(get(null), "dishes", dish, dish.getVersion());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"v3\"", response.getHeaders().getETag());
+        assertEquals("private, max-age=30", response.getHeaders().getCacheControl());
+        assertEquals(dish, response.getBody());
+    }
+
+    @Test
+    public void testNotModifiedWhenClientHasTheVersion() {
+        ResponseEntity<DishDTO> response = conditional.ok(get("\"v3\""), "dishes", dish, dish.getVersion());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"v3\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+
+        // Otra versión: se envía el cuerpo completo
+        assertEquals(HttpStatus.OK, conditional.ok(get("\"v2\""), "dishes", dish, dish.getVersion()).getStatusCode());
+    }
+
+    @Test
+    public void testContentHashWithoutVersion() {
+        String eTag = conditional.ok(get(null), "invoices", dish, null).getHeaders().getETag();
+
+        assertEquals(eTag, conditional.ok(get(null), "invoices", new DishDTO("1", "Soda", 2.5, true, 3L), null)
+                .getHeaders().getETag());
+        assertNotEquals(eTag, conditional.ok(get(null), "invoices", new DishDTO("1", "Soda", 2.9, true, 3L), null)
+                .getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.ok(get(eTag), "invoices", dish, null).getStatusCode());
+        // Ruta sin política configurada
+        assertEquals("no-cache", conditional.ok(get(null), "invoices", dish, null).getHeaders().getCacheControl());
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.reactor.reactor.responses;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+public class JsonResponsesTest {
+
+    private final byte[] content = "[{\"id\":\"1\",\"nameDish\":\"Soda\"}]".getBytes(StandardCharsets.UTF_8);
+    private final EncodedJson json = EncodedJson.of(content);
+
+    private static byte[] bytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void testPlainJson() {
+        ResponseEntity<DataBuffer> response = JsonResponses.ok(json,
+                MockServerWebExchange.from(MockServerHttpRequest.get("/dishes")));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(json.eTag(), response.getHeaders().getETag());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(content, bytes(response.getBody()));
+    }
+
+    @Test
+    public void testGzipWhenAccepted() throws Exception {
+        ResponseEntity<DataBuffer> response = JsonResponses.ok(json, MockServerWebExchange
+                .from(MockServerHttpRequest.get("/dishes").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8")));
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(json.gzipETag(), response.getHeaders().getETag());
+        assertNotEquals(json.eTag(), json.gzipETag());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes(response.getBody())))) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testNotModifiedWithCurrentETag() {
+        ResponseEntity<DataBuffer> response = JsonResponses.ok(json, MockServerWebExchange
+                .from(MockServerHttpRequest.get("/dishes").header(HttpHeaders.IF_NONE_MATCH, json.eTag())));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void testAcceptsGzip() {
+        assertTrue(JsonResponses.acceptsGzip(headers("gzip, deflate")));
+        assertTrue(JsonResponses.acceptsGzip(headers("*")));
+        assertFalse(JsonResponses.acceptsGzip(headers("gzip;q=0, br")));
+        // Una entrada explícita de gzip tiene prioridad sobre "*", en cualquier orden
+        assertFalse(JsonResponses.acceptsGzip(headers("gzip;q=0, *")));
+        assertFalse(JsonResponses.acceptsGzip(headers("*, gzip;q=0")));
+        assertTrue(JsonResponses.acceptsGzip(headers("gzip, *;q=0")));
+        assertFalse(JsonResponses.acceptsGzip(headers("*;q=0")));
+        assertFalse(JsonResponses.acceptsGzip(headers("identity")));
+        assertFalse(JsonResponses.acceptsGzip(new HttpHeaders()));
+    }
+
+    private static HttpHeaders headers(String acceptEncoding) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return headers;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.reactor.reactor.responses;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+public class ListResponsesTest {
+
+    @Test
+    public void testSubscribesOnceAndReplaysFirstElement() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<Integer> fx = Flux.range(1, 5).doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        StepVerifier.create(ListResponses.okOrNotFound(fx)
+                .flatMapMany(response -> {
+                    assertEquals(HttpStatus.OK, response.getStatusCode());
+                    return response.getBody();
+                }))
+                .expectNext(1, 2, 3, 4, 5)
+                .verifyComplete();
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    public void testBodySubscribedLaterGetsAllElements() {
+        Flux<Integer> fx = Flux.range(1, 3).delayElements(Duration.ofMillis(10));
+
+        // Como WebFlux: el body se escribe después de recibir el ResponseEntity
+        StepVerifier.create(ListResponses.okOrNotFound(fx)
+                .delayElement(Duration.ofMillis(50))
+                .flatMapMany(response -> response.getBody()))
+                .expectNext(1, 2, 3)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testEmptyIsNotFound() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<Integer> fx = Flux.<Integer>empty().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        StepVerifier.create(ListResponses.okOrNotFound(fx))
+                .expectNextMatches(response -> response.getStatusCode() == HttpStatus.NOT_FOUND)
+                .verifyComplete();
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    public void testErrorBeforeFirstElementPropagates() {
+        StepVerifier.create(ListResponses.okOrNotFound(Flux.error(new IllegalStateException("boom"))))
+                .verifyError(IllegalStateException.class);
+    }
+
+}
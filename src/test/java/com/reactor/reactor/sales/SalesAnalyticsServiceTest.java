@@ -0,0 +1,81 @@
+package com.reactor.reactor.sales;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+import com.reactor.reactor.dtos.ClientSalesDTO;
+import com.reactor.reactor.dtos.DishSalesDTO;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.services.impl.SalesAnalyticsServiceImpl;
+
+import reactor.core.publisher.Flux;
+
+public class SalesAnalyticsServiceTest {
+
+    private ReactiveMongoTemplate template;
+    private SalesAnalyticsServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        template = mock(ReactiveMongoTemplate.class);
+        when(template.getCollectionName(Invoice.class)).thenReturn("invoices");
+        when(template.getCollectionName(Dish.class)).thenReturn("dishes");
+        when(template.getCollectionName(Client.class)).thenReturn("clients");
+        when(template.aggregate(any(Aggregation.class), eq("invoices"), any())).thenReturn(Flux.empty());
+        service = new SalesAnalyticsServiceImpl(template);
+    }
+
+    // Pipeline que el servicio envía a Mongo
+    private List<Document> pipeline(Class<?> outputType) {
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(template).aggregate(aggregation.capture(), eq("invoices"), eq(outputType));
+        return aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    }
+
+    private static List<String> stageNames(List<Document> pipeline) {
+        return pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList();
+    }
+
+    @Test
+    public void testDishPipelineGroupsInMongo() {
+        service.salesByDish(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), null, true, 10).blockLast();
+        List<Document> pipeline = pipeline(DishSalesDTO.class);
+
+        assertEquals(List.of("$match", "$unwind", "$group", "$lookup", "$unwind", "$project", "$sort", "$limit"),
+                stageNames(pipeline));
+        assertEquals(new Document("quantity", -1), pipeline.get(6).get("$sort"));
+
+        // Rango de fechas sobre el timestamp del ObjectId: [1 de enero, 1 de febrero)
+        Document id = (Document) ((Document) pipeline.get(0).get("$match")).get("_id");
+        assertEquals("67748580", id.get("$gte").toString().substring(0, 8));
+        assertEquals("679d6400", id.get("$lt").toString().substring(0, 8));
+    }
+
+    @Test
+    public void testClientPipelineGroupsByClientAndDish() {
+        service.salesByClient(null, null, 5).blockLast();
+        List<Document> pipeline = pipeline(ClientSalesDTO.class);
+
+        assertEquals(List.of("$match", "$unwind", "$group", "$lookup", "$unwind", "$group", "$sort", "$limit",
+                "$lookup", "$unwind", "$project"), stageNames(pipeline));
+        Document firstGroup = (Document) pipeline.get(2).get("$group");
+        assertEquals(new Document("client", "$client._id").append("dish", "$items.dish._id"), firstGroup.get("_id"));
+    }
+
+}
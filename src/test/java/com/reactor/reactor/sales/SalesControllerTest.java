@@ -0,0 +1,87 @@
+package com.reactor.reactor.sales;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.reactor.reactor.controllers.SalesController;
+import com.reactor.reactor.models.SalesSummary;
+import com.reactor.reactor.services.ISalesAnalyticsService;
+import com.reactor.reactor.services.ISalesSummaryService;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+// Validación del parámetro limit de los endpoints /sales
+public class SalesControllerTest {
+
+    private ISalesAnalyticsService service;
+    private ISalesSummaryService summaryService;
+    private SalesController controller;
+
+    @BeforeEach
+    public void setUp() {
+        service = mock(ISalesAnalyticsService.class);
+        summaryService = mock(ISalesSummaryService.class);
+        when(service.salesByDish(any(), any(), any(), anyBoolean(), anyInt())).thenReturn(Flux.empty());
+        when(service.salesByClient(any(), any(), anyInt())).thenReturn(Flux.empty());
+        when(summaryService.top(any(), any(), any(), anyInt())).thenReturn(Flux.empty());
+
+        controller = new SalesController(service, summaryService);
+        ReflectionTestUtils.setField(controller, "maxLimit", 50);
+    }
+
+    private static boolean badRequest(Throwable e) {
+        return e instanceof ResponseStatusException status && status.getStatusCode() == HttpStatus.BAD_REQUEST;
+    }
+
+    @Test
+    public void testNonPositiveLimitIsBadRequest() {
+        for (int limit : new int[] { 0, -1 }) {
+            StepVerifier.create(controller.salesByDish(null, null, null, limit)).expectErrorMatches(
+                    SalesControllerTest::badRequest).verify();
+            StepVerifier.create(controller.topSellers(null, null, null, limit)).expectErrorMatches(
+                    SalesControllerTest::badRequest).verify();
+            StepVerifier.create(controller.salesByClient(null, null, limit)).expectErrorMatches(
+                    SalesControllerTest::badRequest).verify();
+        }
+
+        // La consulta no llega a Mongo
+        verify(service, never()).salesByDish(any(), any(), any(), anyBoolean(), anyInt());
+        verify(service, never()).salesByClient(any(), any(), anyInt());
+    }
+
+    @Test
+    public void testLimitIsClampedToTheMaximum() {
+        StepVerifier.create(controller.salesByDish(null, null, null, 10_000)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(controller.salesByClient(null, null, 20)).expectNextCount(1).verifyComplete();
+
+        verify(service).salesByDish(null, null, null, false, 50);
+        verify(service).salesByClient(null, null, 20);
+    }
+
+    @Test
+    public void testSummaryLimitIsValidated() {
+        // limit = 0 en un find de Mongo traería todas las filas del día
+        for (int limit : new int[] { 0, -1 }) {
+            StepVerifier.create(controller.summary("dishes", null, "quantity", limit)).expectErrorMatches(
+                    SalesControllerTest::badRequest).verify();
+        }
+        verify(summaryService, never()).top(any(), any(), any(), anyInt());
+
+        StepVerifier.create(controller.summary("dishes", null, "quantity", 10_000)).expectNextCount(1).verifyComplete();
+        verify(summaryService).top(eq(SalesSummary.Type.DISH), any(), eq("quantity"), eq(50));
+    }
+
+}
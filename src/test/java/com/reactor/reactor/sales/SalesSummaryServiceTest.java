@@ -0,0 +1,164 @@
+package com.reactor.reactor.sales;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.reactor.reactor.models.Client;
+import com.reactor.reactor.models.Dish;
+import com.reactor.reactor.models.Invoice;
+import com.reactor.reactor.models.InvoiceDetail;
+import com.reactor.reactor.models.SalesSummary;
+import com.reactor.reactor.repositories.IDishRepo;
+import com.reactor.reactor.repositories.IInvoiceRepo;
+import com.reactor.reactor.services.impl.SalesSummaryServiceImpl;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class SalesSummaryServiceTest {
+
+    // ObjectId creado el 2025-01-01 UTC
+    private static final String INVOICE_ID = "677485800000000000000001";
+
+    private ReactiveMongoTemplate template;
+    private ReactiveBulkOperations bulk;
+    private IInvoiceRepo invoiceRepo;
+    private SalesSummaryServiceImpl service;
+
+    @BeforeEach
+    public void setUp() {
+        template = mock(ReactiveMongoTemplate.class);
+        bulk = mock(ReactiveBulkOperations.class);
+        when(template.bulkOps(BulkMode.UNORDERED, SalesSummary.class)).thenReturn(bulk);
+        when(bulk.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+
+        IDishRepo dishRepo = mock(IDishRepo.class);
+        when(dishRepo.findAllById(anyCollection())).thenReturn(Flux.just(
+                new Dish("d1", "Ceviche", 10.0, true),
+                new Dish("d2", "Lomo", 20.0, true)));
+
+        invoiceRepo = mock(IInvoiceRepo.class);
+        service = new SalesSummaryServiceImpl(template, invoiceRepo, dishRepo);
+    }
+
+    private static Invoice invoice(InvoiceDetail... items) {
+        Client client = new Client();
+        client.setId("c1");
+        return new Invoice(INVOICE_ID, "Invoice", client, List.of(items));
+    }
+
+    private static InvoiceDetail item(int quantity, String dishId) {
+        return new InvoiceDetail(quantity, new Dish(dishId, null, null, null));
+    }
+
+    // _id del documento -> $inc aplicado
+    private Map<String, Document> increments() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, atLeast(0)).upsert(queries.capture(), updates.capture());
+
+        Map<String, Document> increments = new HashMap<>();
+        for (int i = 0; i < queries.getAllValues().size(); i++) {
+            increments.put(queries.getAllValues().get(i).getQueryObject().getString("_id"),
+                    (Document) updates.getAllValues().get(i).getUpdateObject().get("$inc"));
+        }
+        return increments;
+    }
+
+    @Test
+    public void testSaveIncrementsDishAndClientCounters() {
+        StepVerifier.create(service.record(List.of(), List.of(invoice(item(2, "d1"), item(1, "d1"), item(1, "d2")))))
+                .verifyComplete();
+
+        Map<String, Document> increments = increments();
+        assertEquals(3, increments.size());
+        // El plato repetido en 2 líneas cuenta como una sola factura
+        assertEquals(new Document("quantity", 3L).append("revenue", 30.0).append("invoices", 1L),
+                increments.get("DISH:d1:2025-01-01"));
+        assertEquals(new Document("quantity", 4L).append("revenue", 50.0).append("invoices", 1L),
+                increments.get("CLIENT:c1:2025-01-01"));
+    }
+
+    @Test
+    public void testUpdateAppliesOnlyTheDifference() {
+        StepVerifier.create(service.record(List.of(invoice(item(2, "d1"), item(1, "d2"))),
+                List.of(invoice(item(2, "d1"), item(3, "d2")))))
+                .verifyComplete();
+
+        Map<String, Document> increments = increments();
+        // d1 no cambió: no se escribe
+        assertEquals(2, increments.size());
+        assertEquals(new Document("quantity", 2L).append("revenue", 40.0).append("invoices", 0L),
+                increments.get("DISH:d2:2025-01-01"));
+    }
+
+    @Test
+    public void testNothingToRecord() {
+        StepVerifier.create(service.record(List.of(), List.of())).verifyComplete();
+        verify(template, never()).bulkOps(eq(BulkMode.UNORDERED), any(Class.class));
+    }
+
+    @Test
+    public void testRebuildMergesInPlaceAndRemovesOnlyStaleSummaries() {
+        Date startedAt = new Date(1_735_689_600_000L);
+        when(template.getCollectionName(Invoice.class)).thenReturn("invoices");
+        when(template.executeCommand(any(Document.class))).thenReturn(Mono.just(new Document("localTime", startedAt)));
+        when(template.aggregate(any(Aggregation.class), eq("invoices"), eq(Document.class))).thenReturn(Flux.empty());
+        when(template.remove(any(Query.class), eq(SalesSummary.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+        when(invoiceRepo.count()).thenReturn(Mono.just(7L));
+
+        StepVerifier.create(service.rebuild()).expectNext(7L).verifyComplete();
+
+        // Una sola agregación que termina en $merge, sin leer la salida en la JVM
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(template).aggregate(aggregation.capture(), eq("invoices"), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document merge = pipeline.get(pipeline.size() - 1).get("$merge", Document.class);
+        assertEquals("replace", merge.getString("whenMatched"));
+        assertEquals(true, aggregation.getValue().getOptions().isSkipResults());
+
+        // Solo se eliminan los documentos que nadie escribió desde el inicio del rebuild
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(template).remove(removed.capture(), eq(SalesSummary.class));
+        assertEquals(new Document("$or", List.of(
+                new Document("updatedAt", new Document("$lt", startedAt)),
+                new Document("updatedAt", new Document("$exists", false)))), removed.getValue().getQueryObject());
+    }
+
+    @Test
+    public void testRecordStampsServerTime() {
+        StepVerifier.create(service.record(List.of(), List.of(invoice(item(1, "d1"))))).verifyComplete();
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, atLeast(1)).upsert(any(Query.class), updates.capture());
+        updates.getAllValues().forEach(update -> assertEquals(new Document("updatedAt", true),
+                update.getUpdateObject().get("$currentDate")));
+    }
+
+}
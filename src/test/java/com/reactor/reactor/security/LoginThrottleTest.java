@@ -0,0 +1,112 @@
+package com.reactor.reactor.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import com.reactor.reactor.exceptions.RetryLaterException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.test.StepVerifier;
+
+public class LoginThrottleTest {
+
+    @Test
+    public void testRejectsUserBurst() {
+        LoginThrottle throttle = new LoginThrottle(3, 100, Duration.ofMinutes(1), 1000, new SimpleMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("admin", "10.0.0." + i);
+        }
+
+        RetryLaterException e = assertThrows(RetryLaterException.class, () -> throttle.acquire("admin", "10.0.0.9"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, e.getStatusCode());
+        assertTrue(e.getRetryAfter().toSeconds() >= 1);
+
+        // Otro usuario no se ve afectado
+        assertDoesNotThrow(() -> throttle.acquire("user", "10.0.0.9"));
+    }
+
+    @Test
+    public void testRejectsIpBurstAcrossUsers() {
+        LoginThrottle throttle = new LoginThrottle(100, 3, Duration.ofMinutes(1), 1000, new SimpleMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("user" + i, "10.0.0.1");
+        }
+
+        assertThrows(RetryLaterException.class, () -> throttle.acquire("other", "10.0.0.1"));
+    }
+
+    @Test
+    public void testSuccessfulLoginResetsUser() {
+        LoginThrottle throttle = new LoginThrottle(2, 100, Duration.ofMinutes(1), 1000, new SimpleMeterRegistry());
+        throttle.acquire("admin", "10.0.0.1");
+        throttle.acquire("admin", "10.0.0.1");
+        throttle.reset("admin");
+
+        assertDoesNotThrow(() -> throttle.acquire("admin", "10.0.0.1"));
+    }
+
+    @Test
+    public void testUsernameIsNormalized() {
+        LoginThrottle throttle = new LoginThrottle(2, 100, Duration.ofMinutes(1), 1000, new SimpleMeterRegistry());
+        throttle.acquire("admin", "10.0.0.1");
+        throttle.acquire(" Admin ", "10.0.0.2");
+
+        assertThrows(RetryLaterException.class, () -> throttle.acquire("ADMIN", "10.0.0.3"));
+
+        throttle.reset("Admin");
+        assertDoesNotThrow(() -> throttle.acquire("admin", "10.0.0.4"));
+    }
+
+    @Test
+    public void testTrackedWindowsAreBounded() throws InterruptedException {
+        // Credential stuffing: muchos usuarios distintos, todos con la ventana vigente
+        LoginThrottle throttle = new LoginThrottle(10, 1_000_000, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+        for (int i = 0; i < 1000; i++) {
+            throttle.acquire("user" + i, "10.0.0.1");
+        }
+        assertTrue(throttle.size() <= 101, String.valueOf(throttle.size()));
+
+        // Las ventanas terminadas se descartan en el siguiente recorrido (una vez por ventana)
+        LoginThrottle shortWindow = new LoginThrottle(10, 100, Duration.ofMillis(20), 1000, new SimpleMeterRegistry());
+        for (int i = 0; i < 50; i++) {
+            shortWindow.acquire("user" + i, "10.0.0." + i);
+        }
+        Thread.sleep(40);
+        shortWindow.acquire("other", "10.0.1.1");
+        assertEquals(2, shortWindow.size());
+    }
+
+    @Test
+    public void testClientIpFallsBackToUnresolvedHost() {
+        assertEquals("10.0.0.1", LoginThrottle.clientIp(new InetSocketAddress("10.0.0.1", 8080)));
+        // Dirección sin resolver: getAddress() es null y se usa el host recibido
+        assertEquals("client.local", LoginThrottle.clientIp(InetSocketAddress.createUnresolved("client.local", 8080)));
+        assertNull(LoginThrottle.clientIp(null));
+    }
+
+    @Test
+    public void testVerifierRunsOffCallerThread() {
+        LoginVerifier verifier = new LoginVerifier(1, 4, 2, new SimpleMeterRegistry());
+        String hash = BCrypt.hashpw("123", BCrypt.gensalt(4));
+        String caller = Thread.currentThread().getName();
+
+        StepVerifier.create(verifier.matches("123", hash)
+                .map(matches -> matches && !Thread.currentThread().getName().equals(caller)
+                        && Thread.currentThread().getName().startsWith("login-verify")))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(verifier.matches("bad", hash)).expectNext(false).verifyComplete();
+        verifier.destroy();
+    }
+
+}
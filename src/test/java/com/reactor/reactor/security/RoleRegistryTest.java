@@ -0,0 +1,57 @@
+package com.reactor.reactor.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.reactor.reactor.models.Role;
+import com.reactor.reactor.repositories.IRoleRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+public class RoleRegistryTest {
+
+    private IRoleRepo roleRepo;
+    private SimpleMeterRegistry meterRegistry;
+    private RoleRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        roleRepo = mock(IRoleRepo.class);
+        when(roleRepo.findAll()).thenReturn(Flux.just(new Role("1", "ADMIN"), new Role("2", "USER")));
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new RoleRegistry(roleRepo, mock(ReactiveMongoTemplate.class), Duration.ofMinutes(5),
+                meterRegistry);
+    }
+
+    @Test
+    public void testHitDoesNotQueryMongo() {
+        StepVerifier.create(registry.refresh()).verifyComplete();
+
+        StepVerifier.create(registry.findName("1")).expectNext("ADMIN").verifyComplete();
+        StepVerifier.create(registry.findName("2")).expectNext("USER").verifyComplete();
+
+        verify(roleRepo, never()).findById("1");
+        assertEquals(2, meterRegistry.counter("roles.registry.hits").count());
+    }
+
+    @Test
+    public void testMissFallsBackToRepo() {
+        when(roleRepo.findById("3")).thenReturn(Mono.just(new Role("3", "GUEST")));
+
+        StepVerifier.create(registry.findName("3")).expectNext("GUEST").verifyComplete();
+        assertEquals(1, meterRegistry.counter("roles.registry.misses").count());
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.reactor.reactor.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class VerifiedTokenCacheTest {
+
+    private static VerifiedTokenCache.VerifiedToken verified(long expiresAt) {
+        return new VerifiedTokenCache.VerifiedToken("user", List.of(), expiresAt);
+    }
+
+    @Test
+    public void testEntryExpiresWithToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("valid", verified(System.currentTimeMillis() + 60_000));
+        cache.put("expired", verified(System.currentTimeMillis() - 1));
+
+        assertNotNull(cache.get("valid"));
+        assertNull(cache.get("expired"));
+        assertNull(cache.get("unknown"));
+    }
+
+    @Test
+    public void testBoundedSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, verified(System.currentTimeMillis() + 60_000));
+        }
+
+        assertTrue(cache.size() <= 10);
+        // El último token siempre queda en la caché
+        assertEquals("user", cache.get("token-99").username());
+    }
+
+}